@@ -0,0 +1,99 @@
+package com.cl.xdialog.benchmark
+
+import com.cl.xdialog.choose.WheelPhysics
+import org.openjdk.jmh.annotations.Benchmark
+import org.openjdk.jmh.annotations.BenchmarkMode
+import org.openjdk.jmh.annotations.Mode
+import org.openjdk.jmh.annotations.OutputTimeUnit
+import org.openjdk.jmh.annotations.Param
+import org.openjdk.jmh.annotations.Scope
+import org.openjdk.jmh.annotations.Setup
+import org.openjdk.jmh.annotations.State
+import org.openjdk.jmh.infra.Blackhole
+import java.util.concurrent.TimeUnit
+
+/**
+ * name：cl
+ * date：2026/10/18
+ * desc：滚动物理压测
+ *
+ * 惯性滑动按60帧每秒推进到结束、滚动中每帧的位置计算，以及循环滚轮跨越多圈的偏移量规范。
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+open class WheelPhysicsBenchmark {
+    @Param("100", "100000")
+    @JvmField
+    var itemSize = 0
+
+    private lateinit var mPhysics: WheelPhysics
+    private lateinit var mCyclicPhysics: WheelPhysics
+
+    @Setup
+    fun setUp() {
+        mPhysics = WheelPhysics(Geometry(itemSize, false))
+        mCyclicPhysics = WheelPhysics(Geometry(itemSize, true))
+    }
+
+    /**
+     * 从中间开始一次惯性滑动直到停止
+     */
+    @Benchmark
+    fun flingSimulation(): Float {
+        val physics = mPhysics
+        physics.reset()
+        physics.scrollBy((itemSize / 2 * ITEM_HEIGHT).toFloat())
+        physics.fling(FLING_VELOCITY, 0L)
+        var now = 0L
+        while (physics.isAnimating) {
+            now += FRAME_MS
+            physics.step(now)
+        }
+        return physics.scrollOffset
+    }
+
+    /**
+     * 每次移动不到一项后计算中间选项、偏移量和最近的一项
+     */
+    @Benchmark
+    fun indexResolution(blackhole: Blackhole) {
+        val physics = mPhysics
+        physics.reset()
+        for (i in 0 until STEPS) {
+            physics.scrollBy(SMALL_STEP)
+            blackhole.consume(physics.itemIndex)
+            blackhole.consume(physics.itemOffset)
+            blackhole.consume(physics.currentIndex)
+        }
+    }
+
+    /**
+     * 循环滚轮来回移动跨越多圈，每次都要规范偏移量
+     */
+    @Benchmark
+    fun cyclicWraparound(blackhole: Blackhole) {
+        val physics = mCyclicPhysics
+        val distance = itemSize * ITEM_HEIGHT * 3.5f
+        for (i in 0 until STEPS) {
+            physics.scrollBy(if (i and 1 == 0) distance else -distance * 1.5f)
+            blackhole.consume(physics.currentIndex)
+        }
+    }
+
+    private class Geometry(
+        override val itemSize: Int,
+        override val isCyclic: Boolean
+    ) : WheelPhysics.Geometry {
+        override val itemHeight: Int
+            get() = ITEM_HEIGHT
+    }
+
+    companion object {
+        private const val ITEM_HEIGHT = 48
+        private const val FRAME_MS = 16L
+        private const val FLING_VELOCITY = 8000f
+        private const val SMALL_STEP = 7.3f
+        private const val STEPS = 1000
+    }
+}
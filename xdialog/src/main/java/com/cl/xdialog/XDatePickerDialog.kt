@@ -5,14 +5,14 @@ import android.os.Bundle
 import android.view.View
 import android.widget.TextView
 import androidx.fragment.app.FragmentManager
-import com.cl.xdialog.choose.OnWheelChangedListener
-import com.cl.xdialog.choose.Wheel3DView
-import com.cl.xdialog.choose.WheelView
+import com.cl.xdialog.choose.MultiWheelView
+import com.cl.xdialog.choose.NumericWheelAdapter
+import com.cl.xdialog.choose.OnColumnChangedListener
 import java.util.*
 
 /**
  * 日期选择弹窗
- * 基于XDialogOptimized架构，集成Wheel3DView组件
+ * 基于XDialogOptimized架构，集成MultiWheelView组件
  * 
  * @author cl
  * @date 2024/10/21
@@ -22,10 +22,8 @@ class XDatePickerDialog : XDialogOptimized() {
     private var datePickerConfig = DatePickerConfig()
     private var onDateSelectedListener: OnDateSelectedListener? = null
     
-    // 滚轮组件
-    private lateinit var wheelYear: Wheel3DView
-    private lateinit var wheelMonth: Wheel3DView
-    private lateinit var wheelDay: Wheel3DView
+    // 滚轮组件，年月日三列在同一个View中绘制
+    private lateinit var wheelDate: MultiWheelView
     
     // 当前选中的日期
     private var selectedYear: Int = 0
@@ -34,6 +32,11 @@ class XDatePickerDialog : XDialogOptimized() {
     
     companion object {
         private const val KEY_DATE_PICKER_CONFIG = "date_picker_config"
+
+        // 滚轮的列
+        private const val COLUMN_YEAR = 0
+        private const val COLUMN_MONTH = 1
+        private const val COLUMN_DAY = 2
         
         /**
          * 创建日期选择弹窗
@@ -90,21 +93,15 @@ class XDatePickerDialog : XDialogOptimized() {
         tvTitle.visibility = if (datePickerConfig.showTitle) View.VISIBLE else View.GONE
         
         // 滚轮组件
-        wheelYear = view.findViewById(R.id.wheel_year)
-        wheelMonth = view.findViewById(R.id.wheel_month)
-        wheelDay = view.findViewById(R.id.wheel_day)
+        wheelDate = view.findViewById(R.id.wheel_date)
         
         // 应用主题颜色
         datePickerConfig.primaryColor?.let { color ->
-            wheelYear.selectedTextColor = color
-            wheelMonth.selectedTextColor = color
-            wheelDay.selectedTextColor = color
+            wheelDate.selectedTextColor = color
         }
         
         datePickerConfig.textColor?.let { color ->
-            wheelYear.textColor = color
-            wheelMonth.textColor = color
-            wheelDay.textColor = color
+            wheelDate.textColor = color
         }
     }
     
@@ -112,6 +109,8 @@ class XDatePickerDialog : XDialogOptimized() {
      * 设置滚轮数据和监听器
      */
     private fun setupWheels() {
+        wheelDate.removeAllColumns()
+
         // 设置年份数据
         setupYearWheel()
         
@@ -122,25 +121,25 @@ class XDatePickerDialog : XDialogOptimized() {
         setupDayWheel()
         
         // 设置监听器
-        wheelYear.onWheelChangedListener = object : OnWheelChangedListener {
-            override fun onChanged(view: WheelView?, oldIndex: Int, newIndex: Int) {
-                selectedYear = datePickerConfig.minYear + newIndex
-                updateMonthWheel()
-            }
-        }
-        
-        wheelMonth.onWheelChangedListener = object : OnWheelChangedListener {
-            override fun onChanged(view: WheelView?, oldIndex: Int, newIndex: Int) {
-                val minMonth = getMinMonthForYear(selectedYear)
-                selectedMonth = minMonth + newIndex
-                updateDayWheel()
-            }
-        }
-        
-        wheelDay.onWheelChangedListener = object : OnWheelChangedListener {
-            override fun onChanged(view: WheelView?, oldIndex: Int, newIndex: Int) {
-                val minDay = getMinDayFor(selectedYear, selectedMonth)
-                selectedDay = minDay + newIndex
+        wheelDate.onColumnChangedListener = object : OnColumnChangedListener {
+            override fun onChanged(view: MultiWheelView?, column: Int, oldIndex: Int, newIndex: Int) {
+                when (column) {
+                    COLUMN_YEAR -> {
+                        selectedYear = datePickerConfig.minYear + newIndex
+                        updateMonthWheel()
+                    }
+
+                    COLUMN_MONTH -> {
+                        val minMonth = getMinMonthForYear(selectedYear)
+                        selectedMonth = minMonth + newIndex
+                        updateDayWheel()
+                    }
+
+                    COLUMN_DAY -> {
+                        val minDay = getMinDayFor(selectedYear, selectedMonth)
+                        selectedDay = minDay + newIndex
+                    }
+                }
             }
         }
     }
@@ -149,12 +148,11 @@ class XDatePickerDialog : XDialogOptimized() {
      * 设置年份滚轮
      */
     private fun setupYearWheel() {
-        val years = (datePickerConfig.minYear..datePickerConfig.maxYear).map { "${it}年" }.toTypedArray()
-        wheelYear.setEntries(*years)
+        wheelDate.addColumn(NumericWheelAdapter(datePickerConfig.minYear, datePickerConfig.maxYear, suffix = "年"))
         
         // 设置当前年份
         val currentYearIndex = selectedYear - datePickerConfig.minYear
-        wheelYear.setCurrentIndex(currentYearIndex, false)
+        wheelDate.setCurrentIndex(COLUMN_YEAR, currentYearIndex, false)
     }
     
     /**
@@ -163,11 +161,11 @@ class XDatePickerDialog : XDialogOptimized() {
     private fun setupMonthWheel() {
         val minMonth = getMinMonthForYear(selectedYear)
         val maxMonth = getMaxMonthForYear(selectedYear)
-        val months = (minMonth..maxMonth).map { "${it}月" }.toTypedArray()
-        wheelMonth.setEntries(*months)
+        wheelDate.addColumn(NumericWheelAdapter(minMonth, maxMonth, suffix = "月"))
+        wheelDate.setCyclic(COLUMN_MONTH, true)
         
         // 设置当前月份
-        wheelMonth.setCurrentIndex(selectedMonth - minMonth, false)
+        wheelDate.setCurrentIndex(COLUMN_MONTH, selectedMonth - minMonth, false)
     }
     
     /**
@@ -176,8 +174,8 @@ class XDatePickerDialog : XDialogOptimized() {
     private fun setupDayWheel() {
         val minDay = getMinDayFor(selectedYear, selectedMonth)
         val maxDay = getMaxDayFor(selectedYear, selectedMonth)
-        val days = (minDay..maxDay).map { "${it}日" }.toTypedArray()
-        wheelDay.setEntries(*days)
+        wheelDate.addColumn(NumericWheelAdapter(minDay, maxDay, suffix = "日"))
+        wheelDate.setCyclic(COLUMN_DAY, true)
         
         // 确保选中的日期不超过当月最大天数
         if (selectedDay < minDay) {
@@ -187,7 +185,7 @@ class XDatePickerDialog : XDialogOptimized() {
         }
         
         // 设置当前日期
-        wheelDay.setCurrentIndex(selectedDay - minDay, false)
+        wheelDate.setCurrentIndex(COLUMN_DAY, selectedDay - minDay, false)
     }
     
     /**
@@ -196,17 +194,15 @@ class XDatePickerDialog : XDialogOptimized() {
     private fun updateDayWheel() {
         val minDay = getMinDayFor(selectedYear, selectedMonth)
         val maxDay = getMaxDayFor(selectedYear, selectedMonth)
-        val days = (minDay..maxDay).map { "${it}日" }.toTypedArray()
-        wheelDay.setEntries(*days)
-        
+        val adapter = wheelDate.getAdapter(COLUMN_DAY) as? NumericWheelAdapter
+        if (adapter != null && adapter.minValue == minDay && adapter.maxValue == maxDay) return
+
         // 确保选中的日期不超过当月最大天数
-        if (selectedDay < minDay) {
-            selectedDay = minDay
-            wheelDay.setCurrentIndex(selectedDay - minDay, true)
-        } else if (selectedDay > maxDay) {
-            selectedDay = maxDay
-            wheelDay.setCurrentIndex(selectedDay - minDay, true)
-        }
+        val index = selectedDay.coerceIn(minDay, maxDay) - minDay
+        // 只替换天数，保持滚轮当前位置，例如31天变为28天时不会重置到第一天
+        wheelDate.setAdapter(COLUMN_DAY, NumericWheelAdapter(minDay, maxDay, suffix = "日"))
+        wheelDate.setCurrentIndex(COLUMN_DAY, index, false)
+        selectedDay = minDay + index
     }
     
     /**
@@ -226,9 +222,13 @@ class XDatePickerDialog : XDialogOptimized() {
         } else if (selectedMonth > maxMonth) {
             selectedMonth = maxMonth
         }
-        val months = (minMonth..maxMonth).map { "${it}月" }.toTypedArray()
-        wheelMonth.setEntries(*months)
-        wheelMonth.setCurrentIndex(selectedMonth - minMonth, false)
+        val index = selectedMonth - minMonth
+        val adapter = wheelDate.getAdapter(COLUMN_MONTH) as? NumericWheelAdapter
+        if (adapter == null || adapter.minValue != minMonth || adapter.maxValue != maxMonth) {
+            wheelDate.setAdapter(COLUMN_MONTH, NumericWheelAdapter(minMonth, maxMonth, suffix = "月"))
+        }
+        wheelDate.setCurrentIndex(COLUMN_MONTH, index, false)
+        selectedMonth = minMonth + index
         updateDayWheel()
     }
 
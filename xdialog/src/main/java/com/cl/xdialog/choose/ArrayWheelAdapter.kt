@@ -0,0 +1,15 @@
+package com.cl.xdialog.choose
+
+/**
+ * name：cl
+ * date：2026/10/18
+ * desc：基于列表的滚轮适配器，直接引用传入的列表，不做拷贝
+ */
+open class ArrayWheelAdapter(private val entries: List<CharSequence>) : WheelAdapter {
+
+    override fun getItemCount(): Int = entries.size
+
+    override fun getLabel(index: Int): CharSequence? {
+        return if (index < 0 || index >= entries.size) null else entries[index]
+    }
+}
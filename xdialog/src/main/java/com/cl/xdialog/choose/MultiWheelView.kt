@@ -0,0 +1,427 @@
+package com.cl.xdialog.choose
+
+import android.content.Context
+import android.graphics.Canvas
+import android.graphics.Paint
+import android.text.TextPaint
+import android.util.AttributeSet
+import android.view.Choreographer
+import android.view.MotionEvent
+import android.view.View
+import kotlin.math.max
+import kotlin.math.roundToInt
+
+/**
+ * name：cl
+ * date：2026/10/18
+ * desc：多列滚轮
+ *
+ * 在一个View中绘制多列滚轮，例如年月日、时分秒和级联选择器，只需要测量、布局和绘制一个View。
+ * 每一列的滚动和通知由各自的[WheelController]完成，正在滚动的列由同一个Choreographer帧回调推进；
+ * 所有列由同一个[WheelRenderer]绘制，共用画笔、文字度量和3D变换表，效果与[WheelView]、[Wheel3DView]一致。
+ */
+open class MultiWheelView @JvmOverloads constructor(context: Context, attrs: AttributeSet? = null) :
+    View(context, attrs), Choreographer.FrameCallback {
+
+    /**
+     * 一列滚轮
+     */
+    private inner class Column(adapter: WheelAdapter?, var weight: Float) :
+        WheelColumn({ this@MultiWheelView.invalidate() }), WheelController.Host {
+        override val controller = WheelController(this, this)
+
+        init {
+            this.adapter = adapter
+            controller.dispatchMode = wheelDispatchMode
+            controller.maxAnimatedItems = maxAnimatedItems
+            controller.isSnapFling = isSnapFlingEnabled
+            controller.overscrollDistance = overscrollDistance
+            if (isRenderCacheEnabled) {
+                labelAtlas = WheelLabelAtlas(mItemCount + 4)
+            }
+        }
+
+        override val itemHeight: Int
+            get() = mItemHeight
+
+        override fun requestFrame() {
+            postFrame()
+        }
+
+        override fun invalidate() {
+            this@MultiWheelView.invalidate()
+        }
+
+        override fun onWheelChanged(oldIndex: Int, newIndex: Int) {
+            onColumnChangedListener?.onChanged(this@MultiWheelView, mColumns.indexOf(this), oldIndex, newIndex)
+        }
+
+        override fun onScrollStateChanged(state: Int) {
+            onColumnScrollListener?.onScrollStateChanged(this@MultiWheelView, mColumns.indexOf(this), state)
+        }
+    }
+
+    private val mColumns = ArrayList<Column>()
+    private val mItemCount: Int
+    private val mItemWidth: Int
+    private val mItemHeight: Int
+    private val mTextHeight: Int
+    private val mTextPaint: TextPaint
+    private val mSelectedTextPaint: TextPaint
+    private val mDividerPaint: Paint
+    private val mHighlightPaint: Paint
+    private val mMiddleMaskPaint: Paint
+    private val mRenderer = WheelRenderer()
+    private val mTouchTracker = WheelTouchTracker(context)
+    private var mTouchColumn: Column? = null
+    private var isFramePosted = false
+
+    var onColumnChangedListener: OnColumnChangedListener? = null
+
+    var onColumnScrollListener: OnColumnScrollListener? = null
+
+    /**
+     * 是否以3D滚轮的样式绘制
+     */
+    var is3DEnabled: Boolean
+        get() = mRenderer.is3D
+        set(enabled) {
+            mRenderer.is3D = enabled
+            requestLayout()
+            invalidate()
+        }
+
+    /**
+     * 透视投影的焦距(像素)，越小立体感越强
+     */
+    var focalDistance: Float
+        get() = mRenderer.focalDistance
+        set(focalDistance) {
+            mRenderer.focalDistance = focalDistance
+            invalidate()
+        }
+
+    init {
+        val style = WheelStyle.obtain(context, attrs)
+        mItemCount = style.itemCount
+        mItemWidth = style.itemWidth
+        mItemHeight = style.itemHeight
+        mTextHeight = style.textHeight
+        mTextPaint = style.newTextPaint()
+        mSelectedTextPaint = style.newSelectedTextPaint()
+        mDividerPaint = style.newDividerPaint()
+        mHighlightPaint = style.newHighlightPaint()
+        mMiddleMaskPaint = style.newMiddleMaskPaint()
+        mRenderer.textPaint = mTextPaint
+        mRenderer.selectedTextPaint = mSelectedTextPaint
+        mRenderer.itemHeight = mItemHeight
+        mRenderer.itemCount = mItemCount
+        mRenderer.textBaseline = style.textBaseline
+        mRenderer.is3D = true
+    }
+
+    val columnCount: Int
+        get() = mColumns.size
+
+    /**
+     * 在最右侧添加一列
+     *
+     * @param weight 按比例分配宽度
+     * @return 新增列的位置
+     */
+    @JvmOverloads
+    fun addColumn(adapter: WheelAdapter?, weight: Float = 1f): Int {
+        val column = Column(adapter, weight)
+        mColumns.add(column)
+        layoutColumns()
+        column.styledLabels.update(adapter, mTextPaint, mItemCount)
+        requestLayout()
+        invalidate()
+        // 通知新增列的初始位置
+        column.controller.reset()
+        return mColumns.size - 1
+    }
+
+    fun removeAllColumns() {
+        for (column in mColumns) {
+            column.controller.stop()
+            column.labelAtlas?.release()
+        }
+        mColumns.clear()
+        mTouchColumn = null
+        requestLayout()
+        invalidate()
+    }
+
+    fun getAdapter(column: Int): WheelAdapter? = mColumns[column].adapter
+
+    /**
+     * 替换某一列的适配器并保持当前位置，当前位置超出新的数据范围时移到最后一项并通知
+     */
+    fun setAdapter(column: Int, adapter: WheelAdapter?) {
+        val c = mColumns[column]
+        c.adapter = adapter
+        c.labelAtlas?.clear()
+        c.styledLabels.update(adapter, mTextPaint, mItemCount)
+        c.controller.onDataSetChanged()
+        invalidate()
+    }
+
+    fun isCyclic(column: Int): Boolean = mColumns[column].isCyclic
+
+    fun setCyclic(column: Int, cyclic: Boolean) {
+        val c = mColumns[column]
+        if (c.isCyclic == cyclic) return
+        c.isCyclic = cyclic
+        c.controller.reset()
+        invalidate()
+    }
+
+    fun getCurrentIndex(column: Int): Int = mColumns[column].controller.currentIndex
+
+    fun getCurrentItem(column: Int): CharSequence? {
+        val c = mColumns[column]
+        val index = c.controller.currentIndex
+        return if (index < 0 || index >= c.itemSize) null else c.adapter!!.getLabel(index)
+    }
+
+    fun setCurrentIndex(column: Int, index: Int, animated: Boolean) {
+        mColumns[column].controller.setCurrentIndex(index, animated, WheelController.uptimeMillis())
+    }
+
+    fun getScrollState(column: Int): Int = mColumns[column].controller.scrollState
+
+    /**
+     * 位置变化的通知方式，默认每经过一个位置通知一次，
+     * 可选每帧最多一次([WheelScroller.DISPATCH_PER_FRAME])或停止后一次([WheelScroller.DISPATCH_SETTLED])
+     */
+    var wheelDispatchMode = WheelController.DISPATCH_EVERY_INDEX
+        set(mode) {
+            field = mode
+            for (column in mColumns) {
+                column.controller.dispatchMode = mode
+            }
+        }
+
+    /**
+     * [setCurrentIndex]动画切换时最多滚动经过的项数，距离更远时先跳到目标附近，
+     * 途经的位置不会通知[onColumnChangedListener]
+     */
+    var maxAnimatedItems = WheelController.DEFAULT_MAX_ANIMATED_ITEMS
+        set(count) {
+            field = count
+            for (column in mColumns) {
+                column.controller.maxAnimatedItems = count
+            }
+        }
+
+    /**
+     * 惯性滑动是否直接停在对齐的位置上，默认与[WheelView]相同
+     */
+    var isSnapFlingEnabled = true
+        set(enabled) {
+            field = enabled
+            for (column in mColumns) {
+                column.controller.isSnapFling = enabled
+            }
+        }
+
+    /**
+     * 不循环的列惯性滑动越过边界的最大距离(像素)，大于0时越界后回弹
+     */
+    var overscrollDistance = 0
+        set(distance) {
+            field = distance
+            for (column in mColumns) {
+                column.controller.overscrollDistance = distance
+            }
+        }
+
+    /**
+     * 是否分两遍绘制，关闭后逐项裁剪绘制，效果相同，见[WheelView.isTwoPassClipEnabled]
+     */
+    var isTwoPassClipEnabled: Boolean
+        get() = mRenderer.isTwoPassClip
+        set(enabled) {
+            mRenderer.isTwoPassClip = enabled
+            invalidate()
+        }
+
+    /**
+     * 是否启用自适应绘制质量，快速惯性滑动的列改为简单绘制，见[WheelView.isAdaptiveQualityEnabled]
+     */
+    var isAdaptiveQualityEnabled: Boolean
+        get() = mRenderer.isAdaptiveQuality
+        set(enabled) {
+            mRenderer.isAdaptiveQuality = enabled
+            invalidate()
+        }
+
+    /**
+     * 切换为简单绘制的速度，单位为每秒经过的项数
+     */
+    var adaptiveQualityThreshold: Float
+        get() = mRenderer.adaptiveQualityThreshold
+        set(threshold) {
+            mRenderer.adaptiveQualityThreshold = threshold
+        }
+
+    /**
+     * 是否启用文字位图缓存，每一列各有一个图集，只在软件绘制时生效，硬件加速时不起作用，见[WheelView.isRenderCacheEnabled]
+     */
+    var isRenderCacheEnabled = false
+        set(enabled) {
+            if (field == enabled) return
+            field = enabled
+            for (column in mColumns) {
+                if (enabled) {
+                    // 同时可见的项数再留出余量
+                    column.labelAtlas = WheelLabelAtlas(mItemCount + 4)
+                } else {
+                    column.labelAtlas?.release()
+                    column.labelAtlas = null
+                }
+            }
+            configureLabelAtlas()
+            invalidate()
+        }
+
+    var textColor: Int
+        get() = mTextPaint.color
+        set(color) {
+            mTextPaint.color = color
+            invalidate()
+        }
+
+    var selectedTextColor: Int
+        get() = mSelectedTextPaint.color
+        set(color) {
+            mSelectedTextPaint.color = color
+            invalidate()
+        }
+
+    private val prefWidth: Int
+        get() = paddingLeft + paddingRight + mItemWidth * max(mColumns.size, 1)
+
+    private val prefHeight: Int
+        get() {
+            val padding = paddingTop + paddingBottom
+            val innerHeight = if (is3DEnabled) {
+                (mItemHeight * mItemCount * 2 / Math.PI).toInt()
+            } else {
+                mItemHeight * mItemCount
+            }
+            return innerHeight + padding
+        }
+
+    override fun onMeasure(widthMeasureSpec: Int, heightMeasureSpec: Int) {
+        setMeasuredDimension(
+            resolveSize(prefWidth, widthMeasureSpec),
+            resolveSize(prefHeight, heightMeasureSpec)
+        )
+    }
+
+    override fun onSizeChanged(w: Int, h: Int, oldw: Int, oldh: Int) {
+        super.onSizeChanged(w, h, oldw, oldh)
+        mRenderer.setBounds(paddingLeft, paddingTop, w - paddingRight, h - paddingBottom)
+        layoutColumns()
+    }
+
+    /**
+     * 按权重分配每一列的水平范围
+     */
+    private fun layoutColumns() {
+        var totalWeight = 0f
+        for (column in mColumns) {
+            totalWeight += column.weight
+        }
+        if (totalWeight <= 0f) return
+        val left = paddingLeft
+        val contentWidth = width - paddingLeft - paddingRight
+        var x = 0f
+        for (column in mColumns) {
+            column.left = left + x.roundToInt()
+            x += contentWidth * column.weight / totalWeight
+            column.right = left + x.roundToInt()
+        }
+        configureLabelAtlas()
+    }
+
+    private fun configureLabelAtlas() {
+        for (column in mColumns) {
+            column.labelAtlas?.configure(
+                column.right - column.left,
+                max(mItemHeight, mTextHeight),
+                mTextPaint.textSize,
+                mTextPaint.typeface
+            )
+        }
+    }
+
+    override fun onDraw(canvas: Canvas) {
+        if (mColumns.isEmpty() || mItemHeight <= 0) return
+        val middle = mRenderer.clipRectMiddle
+        canvas.drawRect(middle, mMiddleMaskPaint)
+        canvas.drawRect(middle, mHighlightPaint)
+        mRenderer.drawItems(canvas, mColumns)
+        drawDivider(canvas)
+    }
+
+    private fun drawDivider(canvas: Canvas) {
+        val middle = mRenderer.clipRectMiddle
+        val left = middle.left.toFloat()
+        val right = middle.right.toFloat()
+        // 绘制上层分割线
+        val top = middle.top.toFloat()
+        canvas.drawLine(left, top, right, top, mDividerPaint)
+        // 绘制下层分割线
+        val bottom = middle.bottom.toFloat()
+        canvas.drawLine(left, bottom, right, bottom, mDividerPaint)
+    }
+
+    /**
+     * 推进所有正在滚动的列，仍在滚动的列会再次请求下一帧
+     */
+    override fun doFrame(frameTimeNanos: Long) {
+        isFramePosted = false
+        val now = WheelController.frameTimeMillis(frameTimeNanos)
+        var i = 0
+        // 监听器中可能增删列
+        while (i < mColumns.size) {
+            mColumns[i].controller.doFrame(now)
+            i++
+        }
+    }
+
+    private fun postFrame() {
+        if (!isFramePosted) {
+            isFramePosted = true
+            Choreographer.getInstance().postFrameCallback(this)
+        }
+    }
+
+    override fun onTouchEvent(event: MotionEvent): Boolean {
+        if (event.action == MotionEvent.ACTION_DOWN) {
+            val x = event.x.toInt()
+            mTouchColumn = mColumns.firstOrNull { x >= it.left && x < it.right }
+        }
+        mTouchTracker.onTouchEvent(this, event, mTouchColumn?.controller)
+        if (event.action == MotionEvent.ACTION_UP || event.action == MotionEvent.ACTION_CANCEL) {
+            mTouchColumn = null
+        }
+        return true
+    }
+
+    override fun onDetachedFromWindow() {
+        super.onDetachedFromWindow()
+        if (isFramePosted) {
+            isFramePosted = false
+            Choreographer.getInstance().removeFrameCallback(this)
+        }
+        for (column in mColumns) {
+            column.controller.stop()
+            // 图集在下次绘制时重新创建
+            column.labelAtlas?.release()
+        }
+    }
+}
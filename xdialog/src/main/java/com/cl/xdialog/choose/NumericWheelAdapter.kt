@@ -0,0 +1,44 @@
+package com.cl.xdialog.choose
+
+/**
+ * name：cl
+ * date：2026/10/18
+ * desc：数字区间滚轮适配器，例如年份、序号、价格，文字在显示时才生成
+ */
+class NumericWheelAdapter @JvmOverloads constructor(
+    val minValue: Int,
+    val maxValue: Int,
+    private val prefix: String = "",
+    private val suffix: String = ""
+) : WheelAdapter {
+    // 缓存最近生成的文字，滚动时可见项的文字不用每帧重新生成
+    private val mCachedIndexes = IntArray(CACHE_SIZE) { -1 }
+    private val mCachedLabels = arrayOfNulls<String>(CACHE_SIZE)
+
+    override fun getItemCount(): Int = if (maxValue < minValue) 0 else maxValue - minValue + 1
+
+    override fun getLabel(index: Int): CharSequence? {
+        if (index < 0 || index >= getItemCount()) return null
+        val slot = index and (CACHE_SIZE - 1)
+        if (mCachedIndexes[slot] != index) {
+            mCachedLabels[slot] = prefix + getValue(index) + suffix
+            mCachedIndexes[slot] = index
+        }
+        return mCachedLabels[slot]
+    }
+
+    /**
+     * @return 指定位置对应的数值
+     */
+    fun getValue(index: Int): Int = minValue + index
+
+    /**
+     * @return 数值对应的位置，超出范围时返回-1
+     */
+    fun indexOf(value: Int): Int = if (value in minValue..maxValue) value - minValue else -1
+
+    companion object {
+        // 必须为2的幂
+        private const val CACHE_SIZE = 32
+    }
+}
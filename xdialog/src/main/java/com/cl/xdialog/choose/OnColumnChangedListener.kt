@@ -0,0 +1,13 @@
+package com.cl.xdialog.choose
+
+/**
+ * name：cl
+ * date：2026/10/18
+ * desc：多列滚轮某一列改变的监听
+ */
+interface OnColumnChangedListener {
+    /**
+     * @param column 列的位置
+     */
+    fun onChanged(view: MultiWheelView?, column: Int, oldIndex: Int, newIndex: Int)
+}
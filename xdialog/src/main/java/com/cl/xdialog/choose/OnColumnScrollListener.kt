@@ -0,0 +1,14 @@
+package com.cl.xdialog.choose
+
+/**
+ * name：cl
+ * date：2026/10/18
+ * desc：多列滚轮某一列滚动状态的监听
+ */
+interface OnColumnScrollListener {
+    /**
+     * @param column 列的位置
+     * @param state 与[OnWheelScrollListener]相同的滚动状态
+     */
+    fun onScrollStateChanged(view: MultiWheelView?, column: Int, state: Int)
+}
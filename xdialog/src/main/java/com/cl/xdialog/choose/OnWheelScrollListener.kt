@@ -0,0 +1,14 @@
+package com.cl.xdialog.choose
+
+/**
+ * name：cl
+ * date：2026/10/18
+ * desc：滚轮滚动状态监听
+ */
+interface OnWheelScrollListener {
+    /**
+     * @param state [WheelScroller.SCROLL_STATE_IDLE]、[WheelScroller.SCROLL_STATE_DRAGGING]、
+     * [WheelScroller.SCROLL_STATE_FLINGING]或[WheelScroller.SCROLL_STATE_SETTLING]
+     */
+    fun onScrollStateChanged(view: WheelView?, state: Int)
+}
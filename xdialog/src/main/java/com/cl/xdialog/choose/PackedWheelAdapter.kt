@@ -0,0 +1,143 @@
+package com.cl.xdialog.choose
+
+import android.text.GetChars
+import kotlin.math.max
+
+/**
+ * name：cl
+ * date：2026/10/18
+ * desc：紧凑存储的滚轮适配器，适合数据量很大、又必须一次性给出全部文字的滚轮
+ *
+ * 所有文字依次存放在同一个CharArray中，IntArray记录每一项的起始位置，每项只额外占用4字节，
+ * 不为每一项保留String对象。滚轮绘制时直接使用drawText(char[], index, count, ...)，
+ * 只有调用[getLabel]时才按需创建字符串。
+ */
+class PackedWheelAdapter private constructor(
+    private val mChars: CharArray,
+    // 第i项为[mOffsets[i], mOffsets[i + 1])，长度为itemCount + 1
+    private val mOffsets: IntArray,
+    private val mCount: Int
+) : WheelAdapter {
+
+    override fun getItemCount(): Int = mCount
+
+    override fun getLabel(index: Int): CharSequence? {
+        if (index < 0 || index >= mCount) return null
+        return String(mChars, mOffsets[index], getLength(index))
+    }
+
+    /**
+     * 存放全部文字的数组，不能修改
+     */
+    fun getChars(): CharArray = mChars
+
+    /**
+     * @return 第index项在[getChars]中的起始位置
+     */
+    fun getStart(index: Int): Int = mOffsets[index]
+
+    /**
+     * @return 第index项的文字长度
+     */
+    fun getLength(index: Int): Int = mOffsets[index + 1] - mOffsets[index]
+
+    /**
+     * @return 文字等于label的第一项的位置，没有时返回-1
+     */
+    fun indexOf(label: CharSequence): Int {
+        val length = label.length
+        for (i in 0 until mCount) {
+            if (getLength(i) != length) continue
+            val start = mOffsets[i]
+            var j = 0
+            while (j < length && mChars[start + j] == label[j]) {
+                j++
+            }
+            if (j == length) return i
+        }
+        return -1
+    }
+
+    /**
+     * 逐项追加文字，最后生成适配器，不需要先准备完整的列表
+     */
+    class Builder @JvmOverloads constructor(expectedCount: Int = 16) {
+        private var mChars = CharArray(max(expectedCount, 1) * 4)
+        private var mOffsets = IntArray(max(expectedCount, 1) + 1)
+        private var mCount = 0
+        private var mLength = 0
+
+        fun add(label: CharSequence): Builder {
+            val length = label.length
+            if (mLength + length > mChars.size) {
+                mChars = mChars.copyOf(max(mChars.size * 2, mLength + length))
+            }
+            if (mCount + 2 > mOffsets.size) {
+                mOffsets = mOffsets.copyOf(mOffsets.size * 2)
+            }
+            if (label is String) {
+                label.toCharArray(mChars, mLength, 0, length)
+            } else {
+                for (i in 0 until length) {
+                    mChars[mLength + i] = label[i]
+                }
+            }
+            mLength += length
+            mCount++
+            mOffsets[mCount] = mLength
+            return this
+        }
+
+        fun addAll(labels: Iterable<CharSequence>): Builder {
+            for (label in labels) {
+                add(label)
+            }
+            return this
+        }
+
+        fun build(): PackedWheelAdapter {
+            // 去掉预留的空间
+            return PackedWheelAdapter(mChars.copyOf(mLength), mOffsets.copyOf(mCount + 1), mCount)
+        }
+    }
+
+    /**
+     * 指向[PackedWheelAdapter]中某一项的文字，绘制时复用，只在当次绘制中有效
+     */
+    internal class Label : CharSequence, GetChars {
+        var chars: CharArray = EMPTY_CHARS
+            private set
+        var start = 0
+            private set
+        override var length = 0
+            private set
+
+        fun set(adapter: PackedWheelAdapter, index: Int): Label {
+            chars = adapter.mChars
+            start = adapter.getStart(index)
+            length = adapter.getLength(index)
+            return this
+        }
+
+        override fun get(index: Int): Char = chars[start + index]
+
+        override fun subSequence(startIndex: Int, endIndex: Int): CharSequence {
+            return String(chars, start + startIndex, endIndex - startIndex)
+        }
+
+        override fun getChars(start: Int, end: Int, dest: CharArray, destoff: Int) {
+            System.arraycopy(chars, this.start + start, dest, destoff, end - start)
+        }
+
+        override fun toString(): String = String(chars, start, length)
+    }
+
+    companion object {
+        private val EMPTY_CHARS = CharArray(0)
+
+        @JvmStatic
+        fun of(labels: Collection<CharSequence>): PackedWheelAdapter {
+            return Builder(labels.size).addAll(labels).build()
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.cl.xdialog.choose
+
+/**
+ * name：cl
+ * date：2026/10/18
+ * desc：滚轮数据适配器，滚轮只在需要显示某一项时才向适配器获取文字，不再持有完整的数据列表
+ */
+interface WheelAdapter {
+    /**
+     * @return 数据总数
+     */
+    fun getItemCount(): Int
+
+    /**
+     * 获取指定位置的文字
+     *
+     * @param index 取值范围[0, getItemCount())
+     */
+    fun getLabel(index: Int): CharSequence?
+}
@@ -0,0 +1,55 @@
+package com.cl.xdialog.choose
+
+import android.graphics.Canvas
+
+/**
+ * name：cl
+ * date：2026/10/18
+ * desc：一列滚轮
+ *
+ * 数据、是否循环、水平范围和滚动控制，以及这一列的文字缓存。[WheelView]只有一列，
+ * [MultiWheelView]每一列各有一个，都由[WheelRenderer]绘制。
+ */
+internal abstract class WheelColumn(onLabelsReady: () -> Unit) : WheelPhysics.Geometry {
+    var adapter: WheelAdapter? = null
+    override var isCyclic = false
+    var left = 0
+    var right = 0
+
+    abstract val controller: WheelController
+
+    // 带样式文字的排版结果
+    val styledLabels = WheelStyledLabels(onLabelsReady)
+
+    // 文字位图缓存，未启用时为null
+    var labelAtlas: WheelLabelAtlas? = null
+
+    override val itemSize: Int
+        get() = adapter?.getItemCount() ?: 0
+
+    val centerX: Float
+        get() = (left + right) / 2f
+
+    /**
+     * 关闭两遍裁剪时逐项绘制的入口，默认由[renderer]裁剪后绘制这一项
+     */
+    open fun drawItem(canvas: Canvas, renderer: WheelRenderer, index: Int, offset: Float) {
+        renderer.drawItem(canvas, this, index, offset)
+    }
+
+    /**
+     * 将滚轮上的位置转换为数据中的位置，循环滚轮取模，超出范围时返回-1
+     */
+    fun normalizeIndex(index: Int): Int {
+        val size = itemSize
+        if (size == 0) return -1
+        if (isCyclic) {
+            var i = index % size
+            if (i < 0) {
+                i += size
+            }
+            return i
+        }
+        return if (index in 0 until size) index else -1
+    }
+}
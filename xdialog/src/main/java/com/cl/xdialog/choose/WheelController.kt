@@ -0,0 +1,324 @@
+package com.cl.xdialog.choose
+
+import kotlin.math.abs
+
+/**
+ * name：cl
+ * date：2026/10/18
+ * desc：一列滚轮的滚动控制
+ *
+ * 不依赖Android：在[WheelPhysics]之上管理滚动状态、位置变化的通知方式、跳转和数据变化后的位置，
+ * 帧回调、重绘和监听器由[Host]提供。[WheelView]通过[WheelScroller]使用，[MultiWheelView]每一列各有一个。
+ * 时间(毫秒)由调用方传入，与Choreographer的帧时间基准相同，见[uptimeMillis]。
+ */
+internal class WheelController(private val geometry: WheelPhysics.Geometry, private val host: Host) {
+
+    /**
+     * 控制器所在的滚轮
+     */
+    interface Host {
+        /**
+         * 请求在下一帧调用[doFrame]，同一帧内多次请求只需回调一次
+         */
+        fun requestFrame()
+
+        /**
+         * 偏移量发生变化，需要重绘
+         */
+        fun invalidate()
+
+        fun onWheelChanged(oldIndex: Int, newIndex: Int)
+
+        fun onScrollStateChanged(state: Int)
+    }
+
+    private val mPhysics = WheelPhysics(geometry)
+
+    // 最近一次通知给监听器的位置
+    private var mDispatchedIndex = -1
+
+    // 按帧合并的通知等待在下一帧发出
+    private var isDispatchPending = false
+
+    // 跳转动画中，途经的位置不通知监听器，停止后一次性通知
+    private var isJumping = false
+
+    /**
+     * 离中间最近的一项，没有数据时为-1
+     */
+    var currentIndex = -1
+        private set
+
+    /**
+     * 当前滚动状态
+     */
+    var scrollState = SCROLL_STATE_IDLE
+        private set
+
+    /**
+     * 位置变化的通知方式：[DISPATCH_EVERY_INDEX]、[DISPATCH_PER_FRAME]或[DISPATCH_SETTLED]
+     */
+    var dispatchMode = DISPATCH_EVERY_INDEX
+
+    /**
+     * 动画切换位置时最多滚动经过的项数，距离更远时先直接跳到目标附近再滚动剩余部分
+     */
+    var maxAnimatedItems = DEFAULT_MAX_ANIMATED_ITEMS
+
+    var isSnapFling: Boolean
+        get() = mPhysics.isSnapFling
+        set(value) {
+            mPhysics.isSnapFling = value
+        }
+
+    var overscrollDistance: Int
+        get() = mPhysics.overscrollDistance
+        set(value) {
+            mPhysics.overscrollDistance = value
+        }
+
+    /**
+     * 滚动动画当前的速度(像素/秒)，拖动和静止时为0
+     */
+    val velocity: Float
+        get() = mPhysics.currentVelocity
+
+    val itemIndex: Int
+        get() = mPhysics.itemIndex
+
+    val itemOffset: Float
+        get() = mPhysics.itemOffset
+
+    /**
+     * 推进滚动动画，并发出按帧合并的通知
+     */
+    fun doFrame(nowMs: Long) {
+        if (isDispatchPending) {
+            dispatchWheelChanged()
+        }
+        // 拖动时位置由触摸事件移动，这里不再推进
+        if (!mPhysics.isAnimating || scrollState == SCROLL_STATE_DRAGGING) return
+        // 偏移量没有变化时不需要重绘
+        if (mPhysics.step(nowMs)) {
+            notifyWheelChanged()
+            host.invalidate()
+        }
+        if (mPhysics.isAnimating) {
+            host.requestFrame()
+        } else {
+            // 滚动结束后，重新调整位置
+            justify(nowMs)
+        }
+    }
+
+    /**
+     * 立即停止滚动动画，停在当前位置
+     */
+    fun stop() {
+        mPhysics.abort()
+        setScrollState(SCROLL_STATE_IDLE)
+    }
+
+    /**
+     * 停止并回到第一项
+     */
+    fun reset() {
+        stop()
+        mPhysics.reset()
+        currentIndex = -1
+        mDispatchedIndex = -1
+        notifyWheelChanged()
+    }
+
+    /**
+     * 手指按下，停止当前的动画
+     */
+    fun startDrag() {
+        stop()
+        setScrollState(SCROLL_STATE_DRAGGING)
+    }
+
+    /**
+     * 跟随手指移动
+     *
+     * @return 已经到达边界、没有移动时返回false
+     */
+    fun drag(distance: Float): Boolean {
+        if (!scrollBy(distance)) return false
+        host.invalidate()
+        return true
+    }
+
+    /**
+     * 手指抬起
+     *
+     * @param velocity 惯性滑动的速度(像素/秒，偏移量增大的方向为正)，为0时直接调整位置
+     */
+    fun release(velocity: Float, nowMs: Long) {
+        if (velocity != 0f && mPhysics.fling(velocity, nowMs)) {
+            host.requestFrame()
+            setScrollState(SCROLL_STATE_FLINGING)
+        } else {
+            justify(nowMs)
+        }
+    }
+
+    fun setCurrentIndex(index: Int, animated: Boolean, nowMs: Long) {
+        val itemHeight = geometry.itemHeight
+        var distance = index.toFloat() * itemHeight - mPhysics.scrollOffset
+        if (geometry.isCyclic) {
+            // 循环滚轮沿较近的方向滚动
+            val period = geometry.itemSize.toFloat() * itemHeight
+            if (period > 0f) {
+                distance %= period
+                if (distance > period / 2) {
+                    distance -= period
+                } else if (distance < -period / 2) {
+                    distance += period
+                }
+            }
+        }
+        if (distance == 0f) return
+        if (!animated) {
+            if (scrollBy(distance)) {
+                host.invalidate()
+            }
+            return
+        }
+        val maxDistance = maxAnimatedItems.coerceAtLeast(0).toFloat() * itemHeight
+        if (abs(distance) > maxDistance) {
+            // 距离过远时直接跳到目标附近，只播放最后一段动画，耗时与距离无关
+            stop()
+            isJumping = true
+            val jump = if (distance > 0) distance - maxDistance else distance + maxDistance
+            scrollBy(jump)
+            distance -= jump
+            if (distance == 0f) {
+                isJumping = false
+                dispatchWheelChanged()
+                host.invalidate()
+                return
+            }
+        }
+        settle(distance, nowMs)
+    }
+
+    /**
+     * 数据变化后保持当前的位置和偏移量，只有当前位置超出新的数据范围时才移到最后一项，并通知这一次变化
+     */
+    fun onDataSetChanged() {
+        val offset = mPhysics.scrollOffset
+        val maxOffset = mPhysics.maxScrollOffset
+        val outOfRange = if (geometry.isCyclic) {
+            offset >= geometry.itemSize.toFloat() * geometry.itemHeight
+        } else {
+            offset > maxOffset + overscrollDistance
+        }
+        if (outOfRange) {
+            stop()
+            mPhysics.scrollBy(maxOffset - offset)
+        } else {
+            // 循环滚轮按新的一圈长度规范偏移量
+            mPhysics.scrollBy(0f)
+        }
+        notifyWheelChanged()
+    }
+
+    private fun scrollBy(distance: Float): Boolean {
+        if (!mPhysics.scrollBy(distance)) return false
+        notifyWheelChanged()
+        return true
+    }
+
+    /**
+     * 当滚轮结束滑行后，调整滚轮的位置
+     */
+    private fun justify(nowMs: Long) {
+        if (mPhysics.startJustify(nowMs)) {
+            host.requestFrame()
+            setScrollState(SCROLL_STATE_SETTLING)
+        } else {
+            // 已经对齐
+            setScrollState(SCROLL_STATE_IDLE)
+        }
+    }
+
+    private fun settle(distance: Float, nowMs: Long) {
+        mPhysics.startScroll(distance, JUSTIFY_DURATION, nowMs)
+        host.requestFrame()
+        setScrollState(SCROLL_STATE_SETTLING)
+    }
+
+    private fun setScrollState(state: Int) {
+        if (scrollState == state) return
+        scrollState = state
+        host.onScrollStateChanged(state)
+        if (state == SCROLL_STATE_IDLE) {
+            isJumping = false
+            // 停止后补发尚未通知的位置变化
+            dispatchWheelChanged()
+        }
+    }
+
+    private fun notifyWheelChanged() {
+        val newValue = mPhysics.currentIndex
+        if (currentIndex == newValue) return
+        currentIndex = newValue
+        if (isJumping) return
+        if (dispatchMode == DISPATCH_EVERY_INDEX || scrollState == SCROLL_STATE_IDLE) {
+            dispatchWheelChanged()
+        } else if (dispatchMode == DISPATCH_PER_FRAME && !isDispatchPending) {
+            // 同一帧内经过的多个位置合并为一次通知
+            isDispatchPending = true
+            host.requestFrame()
+        }
+    }
+
+    /**
+     * 通知监听器从上次通知的位置变化到当前位置
+     */
+    private fun dispatchWheelChanged() {
+        isDispatchPending = false
+        val oldValue = mDispatchedIndex
+        val newValue = currentIndex
+        if (oldValue != newValue) {
+            mDispatchedIndex = newValue
+            host.onWheelChanged(oldValue, newValue)
+        }
+    }
+
+    companion object {
+        const val JUSTIFY_DURATION = WheelPhysics.JUSTIFY_DURATION
+
+        // 动画切换位置时默认最多滚动经过的项数
+        const val DEFAULT_MAX_ANIMATED_ITEMS = 3
+        private const val NANOS_PER_MS = 1_000_000L
+
+        // 滚动状态：静止、拖动、惯性滑动、调整位置
+        const val SCROLL_STATE_IDLE = 0
+        const val SCROLL_STATE_DRAGGING = 1
+        const val SCROLL_STATE_FLINGING = 2
+        const val SCROLL_STATE_SETTLING = 3
+
+        // 每经过一个位置通知一次
+        const val DISPATCH_EVERY_INDEX = 0
+
+        // 每帧最多通知一次最新的位置
+        const val DISPATCH_PER_FRAME = 1
+
+        // 滚轮停止后才通知
+        const val DISPATCH_SETTLED = 2
+
+        /**
+         * 与Choreographer帧时间相同的时间基准
+         */
+        @JvmStatic
+        fun uptimeMillis(): Long = System.nanoTime() / NANOS_PER_MS
+
+        /**
+         * 帧时间(纳秒)转换为[uptimeMillis]的时间
+         */
+        @JvmStatic
+        fun frameTimeMillis(frameTimeNanos: Long): Long = frameTimeNanos / NANOS_PER_MS
+    }
+}
@@ -0,0 +1,108 @@
+package com.cl.xdialog.choose
+
+import android.graphics.Canvas
+import android.graphics.LinearGradient
+import android.graphics.Paint
+import android.graphics.PorterDuff
+import android.graphics.PorterDuffXfermode
+import android.graphics.RectF
+import android.graphics.Shader
+import kotlin.math.sqrt
+
+/**
+ * name：cl
+ * date：2026/10/18
+ * desc：3D滚轮的深度渐隐蒙版
+ *
+ * 文字先绘制到一个图层中，最后用一张竖直的渐变以DST_IN整体混合一次：
+ * 屏幕上距离中心d处的透明度为cos(angle) = sqrt(1 - (d / r)²)，与按每一项角度设置透明度的效果一致，
+ * 中间选中区域保持不透明。文字画笔不再随位置修改，渐变只在尺寸变化时重新创建。
+ */
+internal class WheelDepthFade {
+    private val mPaint = Paint()
+    private val mBounds = RectF()
+    private var mCenterY = 0f
+    private var mRadius = -1
+    private var mBandHalf = -1f
+
+    init {
+        mPaint.xfermode = PorterDuffXfermode(PorterDuff.Mode.DST_IN)
+    }
+
+    /**
+     * @param radius 滚轮的半径
+     * @param bandHalf 中间选中区域高度的一半
+     */
+    fun update(
+        left: Float,
+        top: Float,
+        right: Float,
+        bottom: Float,
+        centerY: Float,
+        radius: Int,
+        bandHalf: Float
+    ) {
+        mBounds.set(left, top, right, bottom)
+        if (centerY == mCenterY && radius == mRadius && bandHalf == mBandHalf) return
+        mCenterY = centerY
+        mRadius = radius
+        mBandHalf = bandHalf
+        if (radius <= 0) {
+            mPaint.shader = null
+            return
+        }
+        // 上半部分从边缘到中间区域取样，下半部分对称；中间区域两端各有一个重复位置，形成硬边界
+        val count = SAMPLES + 1
+        val colors = IntArray(count * 2 + 2)
+        val positions = FloatArray(count * 2 + 2)
+        val band = bandHalf.coerceIn(0f, radius.toFloat())
+        for (k in 0 until count) {
+            val d = radius - (radius - band) * k / SAMPLES
+            val fraction = d / radius
+            val alpha = (sqrt((1 - fraction * fraction).coerceAtLeast(0f)) * 255).toInt()
+            val position = (1 - fraction) / 2
+            colors[k] = alpha shl 24
+            positions[k] = position
+            colors[colors.size - 1 - k] = alpha shl 24
+            positions[positions.size - 1 - k] = 1 - position
+        }
+        colors[count] = OPAQUE
+        positions[count] = positions[count - 1]
+        colors[count + 1] = OPAQUE
+        positions[count + 1] = positions[count + 2]
+        mPaint.shader = LinearGradient(
+            0f,
+            centerY - radius,
+            0f,
+            centerY + radius,
+            colors,
+            positions,
+            Shader.TileMode.CLAMP
+        )
+    }
+
+    /**
+     * 开始绘制需要渐隐的文字
+     *
+     * @return 传给[restore]的图层编号，蒙版不可用时返回-1，此时直接绘制即可
+     */
+    fun saveLayer(canvas: Canvas): Int {
+        if (mPaint.shader == null) return -1
+        return canvas.saveLayer(mBounds, null)
+    }
+
+    /**
+     * 以蒙版混合图层中的文字并绘制到画布上
+     */
+    fun restore(canvas: Canvas, saveCount: Int) {
+        if (saveCount < 0) return
+        canvas.drawRect(mBounds, mPaint)
+        canvas.restoreToCount(saveCount)
+    }
+
+    companion object {
+        // 每半边渐变的取样数
+        private const val SAMPLES = 16
+        private const val OPAQUE = -0x1000000
+    }
+}
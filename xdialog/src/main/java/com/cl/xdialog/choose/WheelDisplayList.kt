@@ -0,0 +1,78 @@
+package com.cl.xdialog.choose
+
+import android.graphics.RenderNode
+import android.os.Build
+import androidx.annotation.RequiresApi
+
+/**
+ * name：cl
+ * date：2026/10/18
+ * desc：滚轮的RenderNode缓存
+ *
+ * 中间蒙版、高亮和分割线在尺寸、颜色不变时不需要重新录制；
+ * 文字分为未选中和选中两条，以中间选项为基准录制，滚动时只修改节点的translationY，
+ * 中间选项变化或样式变化时才重新录制。
+ */
+@RequiresApi(Build.VERSION_CODES.Q)
+internal class WheelDisplayList {
+    // 绘制在文字下方：中间蒙版、高亮
+    val underNode = RenderNode("WheelChromeUnder")
+
+    // 绘制在文字上方：分割线
+    val overNode = RenderNode("WheelChromeOver")
+    val normalItemsNode = RenderNode("WheelItemsNormal")
+    val selectedItemsNode = RenderNode("WheelItemsSelected")
+    private var mChromeDirty = true
+    private var mItemsDirty = true
+    private var mWidth = 0
+    private var mHeight = 0
+    private var mItemsIndex = 0
+
+    init {
+        // 文字条会超出控件范围，由外层画布裁剪
+        normalItemsNode.setClipToBounds(false)
+        selectedItemsNode.setClipToBounds(false)
+    }
+
+    fun invalidate() {
+        mChromeDirty = true
+        mItemsDirty = true
+    }
+
+    /**
+     * @return 蒙版、高亮和分割线是否需要重新录制
+     */
+    fun isChromeDirty(width: Int, height: Int): Boolean {
+        return mChromeDirty || width != mWidth || height != mHeight
+    }
+
+    /**
+     * @return 文字条是否需要按新的中间选项重新录制
+     */
+    fun isItemsDirty(width: Int, height: Int, index: Int): Boolean {
+        return mItemsDirty || width != mWidth || height != mHeight || index != mItemsIndex
+    }
+
+    fun setChromeRecorded(width: Int, height: Int) {
+        if (width != mWidth || height != mHeight) {
+            mWidth = width
+            mHeight = height
+            // 尺寸变化后文字条也需要重新录制
+            mItemsDirty = true
+        }
+        mChromeDirty = false
+    }
+
+    fun setItemsRecorded(index: Int) {
+        mItemsIndex = index
+        mItemsDirty = false
+    }
+
+    fun release() {
+        underNode.discardDisplayList()
+        overNode.discardDisplayList()
+        normalItemsNode.discardDisplayList()
+        selectedItemsNode.discardDisplayList()
+        invalidate()
+    }
+}
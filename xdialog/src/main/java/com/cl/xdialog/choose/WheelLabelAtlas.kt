@@ -0,0 +1,144 @@
+package com.cl.xdialog.choose
+
+import android.graphics.Bitmap
+import android.graphics.Canvas
+import android.graphics.Color
+import android.graphics.Paint
+import android.graphics.PorterDuff
+import android.graphics.Rect
+import android.graphics.RectF
+import android.graphics.Typeface
+import android.text.TextPaint
+
+/**
+ * name：cl
+ * date：2026/10/18
+ * desc：滚轮文字位图图集
+ *
+ * 所有文字光栅化到同一张ALPHA_8位图的固定大小格子中，绘制时按画笔颜色贴图，
+ * 选中与未选中文字共用同一个格子。格子用完后淘汰最久未使用的一项。
+ * 文字大小、字体或数据变化时需要调用[clear]。
+ * 只用于软件绘制：硬件加速时共用的位图每写入一个格子都会整体重新上传为纹理。
+ */
+internal class WheelLabelAtlas(private val capacity: Int) {
+    private var mBitmap: Bitmap? = null
+    private val mCanvas = Canvas()
+    private var mCellWidth = 0
+    private var mCellHeight = 0
+    private val mKeys = IntArray(capacity) { NO_KEY }
+    private val mStamps = LongArray(capacity)
+    private var mClock = 0L
+    private val mRasterPaint = TextPaint()
+    private val mBlitPaint = Paint()
+    private val mSrc = Rect()
+    private val mDst = RectF()
+
+    init {
+        mRasterPaint.isAntiAlias = true
+        mRasterPaint.textAlign = Paint.Align.CENTER
+        mRasterPaint.color = Color.BLACK
+        mBlitPaint.isFilterBitmap = true
+    }
+
+    /**
+     * 设置格子大小和文字样式，发生变化时清空图集
+     */
+    fun configure(cellWidth: Int, cellHeight: Int, textSize: Float, typeface: Typeface?) {
+        // 高度取偶数，保证格子中心与绘制中心对齐
+        val height = (cellHeight + 1) and 1.inv()
+        if (cellWidth != mCellWidth || height != mCellHeight) {
+            release()
+            mCellWidth = cellWidth
+            mCellHeight = height
+        }
+        if (textSize != mRasterPaint.textSize || typeface != mRasterPaint.typeface) {
+            mRasterPaint.textSize = textSize
+            mRasterPaint.typeface = typeface
+            clear()
+        }
+    }
+
+    fun clear() {
+        mKeys.fill(NO_KEY)
+        mBitmap?.eraseColor(Color.TRANSPARENT)
+    }
+
+    fun release() {
+        mBitmap?.recycle()
+        mBitmap = null
+        mKeys.fill(NO_KEY)
+    }
+
+    /**
+     * 以(centerX, centerY)为中心绘制文字，颜色和透明度取自[paint]
+     *
+     * @param key 文字在数据中的位置
+     * @param baseline 文字基线相对于中心线的偏移量
+     * @return 格子不可用时返回false，由调用方直接绘制文字
+     */
+    fun draw(
+        canvas: Canvas,
+        key: Int,
+        text: CharSequence,
+        centerX: Float,
+        centerY: Float,
+        baseline: Int,
+        paint: Paint
+    ): Boolean {
+        if (key < 0 || mCellWidth <= 0 || mCellHeight <= 0) return false
+        val bitmap = mBitmap ?: Bitmap.createBitmap(
+            mCellWidth,
+            mCellHeight * capacity,
+            Bitmap.Config.ALPHA_8
+        ).also {
+            mBitmap = it
+            mCanvas.setBitmap(it)
+        }
+        var slot = -1
+        var lru = 0
+        for (i in 0 until capacity) {
+            if (mKeys[i] == key) {
+                slot = i
+                break
+            }
+            if (mStamps[i] < mStamps[lru]) {
+                lru = i
+            }
+        }
+        if (slot < 0) {
+            slot = lru
+            rasterize(slot, key, text, baseline)
+        }
+        mStamps[slot] = ++mClock
+        val top = slot * mCellHeight
+        mSrc.set(0, top, mCellWidth, top + mCellHeight)
+        val left = centerX - mCellWidth / 2
+        val dstTop = centerY - mCellHeight / 2
+        mDst.set(left, dstTop, left + mCellWidth, dstTop + mCellHeight)
+        // ALPHA_8位图按画笔颜色着色
+        mBlitPaint.color = paint.color
+        canvas.drawBitmap(bitmap, mSrc, mDst, mBlitPaint)
+        return true
+    }
+
+    private fun rasterize(slot: Int, key: Int, text: CharSequence, baseline: Int) {
+        val top = slot * mCellHeight
+        mCanvas.save()
+        mCanvas.clipRect(0, top, mCellWidth, top + mCellHeight)
+        mCanvas.drawColor(Color.TRANSPARENT, PorterDuff.Mode.CLEAR)
+        mCanvas.drawText(
+            text,
+            0,
+            text.length,
+            (mCellWidth / 2).toFloat(),
+            (top + mCellHeight / 2 - baseline).toFloat(),
+            mRasterPaint
+        )
+        mCanvas.restore()
+        mKeys[slot] = key
+    }
+
+    companion object {
+        private const val NO_KEY = -1
+    }
+}
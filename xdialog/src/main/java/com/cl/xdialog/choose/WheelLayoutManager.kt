@@ -0,0 +1,149 @@
+package com.cl.xdialog.choose
+
+import android.content.Context
+import android.view.View
+import androidx.recyclerview.widget.LinearLayoutManager
+import androidx.recyclerview.widget.LinearSmoothScroller
+import androidx.recyclerview.widget.RecyclerView
+import kotlin.math.PI
+import kotlin.math.abs
+import kotlin.math.cos
+import kotlin.math.sin
+
+/**
+ * name：cl
+ * date：2026/10/18
+ * desc：滚轮的RecyclerView布局管理器
+ *
+ * 按普通的竖直列表摆放每一项，布局和滚动后再把每一项按与中间的距离投影到圆柱面上：
+ * 平移到sin(angle) * r，绕x轴旋转angle，透明度为cos(angle)，与[Wheel3DView]的效果一致。
+ * 离中间最近的一项处于selected状态，可以用selector设置选中时的样式。
+ */
+open class WheelLayoutManager(context: Context) :
+    LinearLayoutManager(context, VERTICAL, false) {
+
+    // View的相机距离以英寸为单位(按72点每英寸投影)，需要换算为像素
+    private val mCameraDistanceScale = context.resources.displayMetrics.densityDpi / 72f
+
+    /**
+     * 是否以3D滚轮的样式摆放
+     */
+    var is3DEnabled = true
+        set(enabled) {
+            field = enabled
+            requestLayout()
+        }
+
+    /**
+     * 透视投影的焦距(像素)，越小立体感越强
+     */
+    var focalDistance: Float = WheelProjection.DEFAULT_FOCAL_DISTANCE
+        set(focalDistance) {
+            field = focalDistance
+            requestLayout()
+        }
+
+    // 滚轮的半径，中间区域的上下边距不计算在内
+    internal var radius = 0
+
+    private val centerY: Float
+        get() = (paddingTop + height - paddingBottom) / 2f
+
+    override fun onLayoutChildren(recycler: RecyclerView.Recycler, state: RecyclerView.State) {
+        super.onLayoutChildren(recycler, state)
+        transformChildren()
+    }
+
+    override fun scrollVerticallyBy(
+        dy: Int,
+        recycler: RecyclerView.Recycler,
+        state: RecyclerView.State
+    ): Int {
+        val scrolled = super.scrollVerticallyBy(dy, recycler, state)
+        transformChildren()
+        return scrolled
+    }
+
+    override fun calculateExtraLayoutSpace(state: RecyclerView.State, extraLayoutSpace: IntArray) {
+        super.calculateExtraLayoutSpace(state, extraLayoutSpace)
+        if (!is3DEnabled) return
+        // 圆柱面上可见的弧长为r * PI，比控件高度长，两端需要多布局一些项
+        val extra = (radius * (PI / 2 - 1)).toInt()
+        extraLayoutSpace[0] = maxOf(extraLayoutSpace[0], extra)
+        extraLayoutSpace[1] = maxOf(extraLayoutSpace[1], extra)
+    }
+
+    override fun smoothScrollToPosition(
+        recyclerView: RecyclerView,
+        state: RecyclerView.State,
+        position: Int
+    ) {
+        val scroller = CenterSmoothScroller(recyclerView.context)
+        scroller.targetPosition = position
+        startSmoothScroll(scroller)
+    }
+
+    /**
+     * @return 离中间最近的一项在数据中的位置，没有数据时返回[RecyclerView.NO_POSITION]
+     */
+    fun findCenterPosition(): Int {
+        val center = centerY
+        var position = RecyclerView.NO_POSITION
+        var minDistance = Float.MAX_VALUE
+        for (i in 0 until childCount) {
+            val child = getChildAt(i) ?: continue
+            val distance = abs(childCenter(child) - center)
+            if (distance < minDistance) {
+                minDistance = distance
+                position = getPosition(child)
+            }
+        }
+        return position
+    }
+
+    /**
+     * 按与中间的距离设置每一项的位移、旋转和透明度
+     */
+    private fun transformChildren() {
+        val center = centerY
+        val radius = radius.toFloat()
+        for (i in 0 until childCount) {
+            val child = getChildAt(i) ?: continue
+            val range = childCenter(child) - center
+            child.isSelected = abs(range) < child.height / 2f
+            if (!is3DEnabled || radius <= 0f) {
+                child.translationY = 0f
+                child.rotationX = 0f
+                child.alpha = 1f
+                continue
+            }
+            val angle = range / radius
+            if (abs(angle) > PI / 2) {
+                // 已经转到圆柱面背面
+                child.alpha = 0f
+                continue
+            }
+            child.pivotY = child.height / 2f
+            child.cameraDistance = focalDistance * mCameraDistanceScale
+            child.translationY = sin(angle) * radius - range
+            child.rotationX = -Math.toDegrees(angle.toDouble()).toFloat()
+            child.alpha = cos(angle)
+        }
+    }
+
+    // 未投影前的中心位置
+    private fun childCenter(child: View): Float = (child.top + child.bottom) / 2f
+
+    /**
+     * 滚动到目标项位于中间
+     */
+    private class CenterSmoothScroller(context: Context) : LinearSmoothScroller(context) {
+        override fun calculateDtToFit(
+            viewStart: Int,
+            viewEnd: Int,
+            boxStart: Int,
+            boxEnd: Int,
+            snapPreference: Int
+        ): Int = (boxStart + boxEnd) / 2 - (viewStart + viewEnd) / 2
+    }
+}
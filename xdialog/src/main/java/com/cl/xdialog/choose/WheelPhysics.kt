@@ -0,0 +1,330 @@
+package com.cl.xdialog.choose
+
+import kotlin.math.abs
+import kotlin.math.exp
+import kotlin.math.floor
+import kotlin.math.ln
+import kotlin.math.max
+
+/**
+ * name：cl
+ * date：2026/10/18
+ * desc：滚轮滚动物理与位置计算
+ *
+ * 不依赖Android，时间(毫秒)由调用方传入，相同的输入总是得到相同的结果，可以直接在JVM上测试和压测。
+ * 惯性滑动按速度指数衰减：v(t) = v0 * e^(-k * t)，速度低于[STOP_VELOCITY]时停止；
+ * 调整位置使用与Scroller默认插值器相同的粘滞流体曲线。
+ * 偏移量为浮点数，动画不按整像素取整；循环滚轮的偏移量始终规范到[0, itemSize * itemHeight)内，
+ * 长时间使用也不会无限增长。
+ */
+class WheelPhysics(private val geometry: Geometry) {
+
+    /**
+     * 滚轮的尺寸和数据信息
+     */
+    interface Geometry {
+        val itemHeight: Int
+        val itemSize: Int
+        val isCyclic: Boolean
+    }
+
+    /**
+     * 滚轮的偏移量，等于中间选项的位置 * 每项高度
+     */
+    var scrollOffset = 0f
+        private set
+
+    /**
+     * 是否在惯性滑动开始时就把终点对齐到最近的一项
+     */
+    var isSnapFling = true
+
+    /**
+     * 不循环时惯性滑动允许越过边界的距离(像素)
+     */
+    var overscrollDistance = 0
+
+    /**
+     * 惯性滑动的减速系数k(1/秒)，越大停得越快
+     */
+    var friction = DEFAULT_FRICTION
+
+    private var mMode = MODE_IDLE
+    private var mStartTime = 0L
+    private var mDuration = 0L
+    private var mStartOffset = 0f
+    private var mEndOffset = 0f
+    private var mDistance = 0f
+
+    // 惯性滑动曲线在mDuration时的值1 - e^(-k * T)，用于把曲线缩放到mDistance
+    private var mFlingScale = 1f
+    private var mLastStepTime = 0L
+
+    /**
+     * 当前速度(像素/秒)，偏移量增大的方向为正
+     */
+    var currentVelocity = 0f
+        private set
+
+    val isAnimating: Boolean
+        get() = mMode != MODE_IDLE
+
+    /**
+     * 不循环时的最大偏移量
+     */
+    val maxScrollOffset: Int
+        get() = max(geometry.itemSize - 1, 0) * geometry.itemHeight
+
+    /**
+     * 循环一圈的偏移量
+     */
+    private val period: Float
+        get() = geometry.itemSize.toFloat() * geometry.itemHeight
+
+    val itemIndex: Int
+        get() = if (geometry.itemHeight == 0) 0 else (scrollOffset / geometry.itemHeight).toInt()
+
+    /**
+     * 中间选项的偏移量，和[scrollOffset]同号
+     */
+    val itemOffset: Float
+        get() = if (geometry.itemHeight == 0) 0f else scrollOffset - itemIndex * geometry.itemHeight
+
+    /**
+     * @return 离中间最近的一项在数据中的位置，没有数据时返回-1
+     */
+    val currentIndex: Int
+        get() {
+            val itemHeight = geometry.itemHeight
+            val itemSize = geometry.itemSize
+            if (itemSize == 0 || itemHeight == 0) return -1
+            val itemIndex = Math.round(scrollOffset / itemHeight)
+            if (!geometry.isCyclic) {
+                // 越界回弹时不能取模到另一端
+                return itemIndex.coerceIn(0, itemSize - 1)
+            }
+            var currentIndex = itemIndex % itemSize
+            if (currentIndex < 0) {
+                currentIndex += itemSize
+            }
+            return currentIndex
+        }
+
+    /**
+     * 停止动画并回到起点
+     */
+    fun reset() {
+        abort()
+        scrollOffset = 0f
+    }
+
+    /**
+     * 立即停止动画，停在当前位置
+     */
+    fun abort() {
+        mMode = MODE_IDLE
+        currentVelocity = 0f
+    }
+
+    /**
+     * 移动偏移量，不循环时限制在边界内
+     *
+     * @param overscroll 允许越过边界的距离
+     * @return 偏移量是否发生变化
+     */
+    fun scrollBy(distance: Float, overscroll: Int = 0): Boolean {
+        val oldOffset = scrollOffset
+        var offset = oldOffset + distance
+        if (geometry.isCyclic) {
+            offset = normalize(offset)
+        } else {
+            // 限制滚动边界
+            val maxOffset = maxScrollOffset
+            if (offset < -overscroll) {
+                offset = -overscroll.toFloat()
+            } else if (offset > maxOffset + overscroll) {
+                offset = (maxOffset + overscroll).toFloat()
+            }
+        }
+        scrollOffset = offset
+        return offset != oldOffset
+    }
+
+    /**
+     * 把循环滚轮的偏移量规范到一圈之内，进行中的动画随之平移整圈
+     */
+    private fun normalize(offset: Float): Float {
+        val period = period
+        if (period <= 0f || (offset >= 0f && offset < period)) return offset
+        val shift = floor(offset / period) * period
+        mStartOffset -= shift
+        mEndOffset -= shift
+        val normalized = offset - shift
+        // 浮点误差可能恰好得到一整圈
+        return if (normalized >= period) normalized - period else normalized
+    }
+
+    /**
+     * 在[durationMs]内平滑滚动[distance]
+     */
+    fun startScroll(distance: Float, durationMs: Int, nowMs: Long) {
+        if (distance == 0f || durationMs <= 0) {
+            abort()
+            scrollBy(distance)
+            return
+        }
+        start(MODE_SCROLL, distance, durationMs.toLong(), nowMs)
+    }
+
+    /**
+     * 以[velocity](像素/秒，偏移量增大的方向为正)开始惯性滑动
+     *
+     * @return 速度过小不需要滑动时返回false
+     */
+    fun fling(velocity: Float, nowMs: Long): Boolean {
+        val speed = abs(velocity)
+        if (speed <= STOP_VELOCITY) return false
+        val k = friction
+        val duration = ln(speed / STOP_VELOCITY) / k
+        val predicted = scrollOffset + velocity / k * (1 - exp(-k * duration))
+        var target = predicted
+        if (isSnapFling && (geometry.isCyclic || predicted in 0f..maxScrollOffset.toFloat())) {
+            // 按原来的减速曲线缩放到对齐后的终点，一次滑动直接停在某一项上；
+            // 会越过边界时保持原曲线，到达边界后立即停止
+            target = snapOffset(predicted)
+        }
+        val distance = target - scrollOffset
+        if (distance == 0f) return false
+        start(MODE_FLING, distance, (duration * 1000).toLong().coerceAtLeast(1L), nowMs)
+        mFlingScale = 1 - exp(-k * duration)
+        return true
+    }
+
+    /**
+     * 开始调整位置：越过边界时回弹到边界，否则对齐到最近的一项
+     *
+     * @return 已经对齐、不需要调整时返回false
+     */
+    fun startJustify(nowMs: Long): Boolean {
+        val itemHeight = geometry.itemHeight
+        if (itemHeight == 0) return false
+        if (!geometry.isCyclic) {
+            // 越过边界时回弹到边界
+            val edge = scrollOffset.coerceIn(0f, maxScrollOffset.toFloat())
+            if (edge != scrollOffset) {
+                start(MODE_SCROLL, edge - scrollOffset, BOUNCE_DURATION.toLong(), nowMs)
+                return true
+            }
+        }
+        val distance = snapOffset(scrollOffset) - scrollOffset
+        if (distance == 0f) return false
+        start(MODE_SCROLL, distance, JUSTIFY_DURATION.toLong(), nowMs)
+        return true
+    }
+
+    /**
+     * 推进动画到[nowMs]
+     *
+     * @return 偏移量是否发生变化
+     */
+    fun step(nowMs: Long): Boolean {
+        if (mMode == MODE_IDLE) return false
+        val elapsed = (nowMs - mStartTime).coerceAtLeast(0L)
+        val finished = elapsed >= mDuration
+        val position = if (finished) {
+            // 终点取精确值，结束后不会因为浮点误差再调整一次
+            mEndOffset
+        } else {
+            val t = elapsed.toFloat() / mDuration
+            val fraction = if (mMode == MODE_FLING) {
+                (1 - exp(-friction * t * mDuration / 1000f)) / mFlingScale
+            } else {
+                viscousFluid(t)
+            }
+            mStartOffset + mDistance * fraction
+        }
+        val oldOffset = scrollOffset
+        val moved = scrollBy(position - oldOffset, overscrollDistance)
+        val dt = nowMs - mLastStepTime
+        if (dt > 0) {
+            // 循环滚轮的偏移量可能刚被规范过一整圈，按动画位置计算位移
+            val delta = if (geometry.isCyclic) position - oldOffset else scrollOffset - oldOffset
+            currentVelocity = delta * 1000f / dt
+            mLastStepTime = nowMs
+        }
+        if (finished) {
+            abort()
+        } else if (mMode == MODE_FLING && isAtEdge(position)) {
+            // 已经到达边界，剩余的惯性滑动不会再移动滚轮
+            abort()
+        }
+        return moved
+    }
+
+    /**
+     * @return 离offset最近的一项对应的偏移量
+     */
+    fun snapOffset(offset: Float): Float {
+        val itemHeight = geometry.itemHeight
+        if (itemHeight == 0) return offset
+        return Math.round(offset / itemHeight).toFloat() * itemHeight
+    }
+
+    private fun start(mode: Int, distance: Float, durationMs: Long, nowMs: Long) {
+        mMode = mode
+        mStartOffset = scrollOffset
+        mEndOffset = scrollOffset + distance
+        mDistance = distance
+        mDuration = durationMs
+        mStartTime = nowMs
+        mLastStepTime = nowMs
+    }
+
+    /**
+     * @param position 未限制边界时动画所在的位置
+     * @return 是否已经越过边界并到达允许越界的极限
+     */
+    private fun isAtEdge(position: Float): Boolean {
+        if (geometry.isCyclic) return false
+        val min = -overscrollDistance.toFloat()
+        val max = (maxScrollOffset + overscrollDistance).toFloat()
+        return (position <= min && scrollOffset <= min) || (position >= max && scrollOffset >= max)
+    }
+
+    companion object {
+        const val JUSTIFY_DURATION = 400
+        const val BOUNCE_DURATION = 250
+
+        // 默认减速系数，初速度为v0时滑动距离约为v0 / k
+        const val DEFAULT_FRICTION = 2.5f
+
+        // 速度低于该值(像素/秒)时惯性滑动结束
+        const val STOP_VELOCITY = 50f
+
+        private const val MODE_IDLE = 0
+        private const val MODE_SCROLL = 1
+        private const val MODE_FLING = 2
+
+        private const val VISCOUS_FLUID_SCALE = 8f
+        private val VISCOUS_FLUID_NORMALIZE = 1f / viscousFluidRaw(1f)
+
+        private fun viscousFluidRaw(input: Float): Float {
+            var x = input * VISCOUS_FLUID_SCALE
+            if (x < 1f) {
+                x -= 1f - exp(-x)
+            } else {
+                // 1/e == exp(-1)
+                val start = 0.36787944f
+                x = 1f - exp(1f - x)
+                x = start + x * (1f - start)
+            }
+            return x
+        }
+
+        /**
+         * 粘滞流体插值曲线，开始快、结束慢
+         */
+        @JvmStatic
+        fun viscousFluid(input: Float): Float = viscousFluidRaw(input) * VISCOUS_FLUID_NORMALIZE
+    }
+}
@@ -0,0 +1,69 @@
+package com.cl.xdialog.choose
+
+import kotlin.math.cos
+import kotlin.math.sin
+
+/**
+ * name：cl
+ * date：2026/10/18
+ * desc：3D滚轮的圆柱透视投影，不依赖android.graphics.Camera
+ *
+ * 文字所在平面绕x轴旋转角度angle后沿z轴后移(1 - cos(angle)) * r，再以焦距f做透视投影：
+ * x' = x * f / (f + z)，y' = y * f / (f + z)。结果写成3x3矩阵，取值顺序与android.graphics.Matrix相同，
+ * 与设备的像素密度和Camera位置无关，可以直接在JVM上验证。
+ */
+object WheelProjection {
+    /**
+     * 与Camera默认位置(0, 0, -8英寸，每英寸72像素)对应的焦距
+     */
+    const val DEFAULT_FOCAL_DISTANCE = 576f
+
+    /**
+     * 计算一项文字的投影矩阵，以(centerX, centerY + sin(angle) * radius)为旋转中心
+     *
+     * @param angle 和中间选项之间的圆心角(弧度)，中间选项以下为正
+     * @param out 依次写入MSCALE_X, MSKEW_X, MTRANS_X, MSKEW_Y, MSCALE_Y, MTRANS_Y, MPERSP_0, MPERSP_1, MPERSP_2
+     */
+    @JvmStatic
+    fun computeMatrix(
+        angle: Double,
+        radius: Float,
+        centerX: Float,
+        centerY: Float,
+        focalDistance: Float,
+        out: FloatArray,
+        offset: Int
+    ) {
+        val c = cos(angle).toFloat()
+        val s = sin(angle).toFloat()
+        val y = centerY + s * radius
+        val translateZ = (1 - c) * radius
+        // 相对旋转中心的投影矩阵为
+        // | 1  0      0          |
+        // | 0  c      0          |
+        // | 0  s / f  1 + tz / f |
+        val persp1 = s / focalDistance
+        val persp2 = 1 + translateZ / focalDistance
+        // 左乘平移(centerX, y)，右乘平移(-centerX, -y)
+        val w = persp2 - persp1 * y
+        out[offset] = 1f
+        out[offset + 1] = centerX * persp1
+        out[offset + 2] = centerX * w - centerX
+        out[offset + 3] = 0f
+        out[offset + 4] = c + y * persp1
+        out[offset + 5] = y * w - c * y
+        out[offset + 6] = 0f
+        out[offset + 7] = persp1
+        out[offset + 8] = w
+    }
+
+    /**
+     * 将点(x, y)按[computeMatrix]写入的矩阵做投影变换，结果写入[point]
+     */
+    @JvmStatic
+    fun mapPoint(matrix: FloatArray, offset: Int, x: Float, y: Float, point: FloatArray) {
+        val w = matrix[offset + 6] * x + matrix[offset + 7] * y + matrix[offset + 8]
+        point[0] = (matrix[offset] * x + matrix[offset + 1] * y + matrix[offset + 2]) / w
+        point[1] = (matrix[offset + 3] * x + matrix[offset + 4] * y + matrix[offset + 5]) / w
+    }
+}
@@ -0,0 +1,219 @@
+package com.cl.xdialog.choose
+
+import android.content.Context
+import android.graphics.Canvas
+import android.graphics.Paint
+import android.graphics.Rect
+import android.util.AttributeSet
+import androidx.recyclerview.widget.LinearSnapHelper
+import androidx.recyclerview.widget.RecyclerView
+import kotlin.math.abs
+
+/**
+ * name：cl
+ * date：2026/10/18
+ * desc：基于RecyclerView的滚轮
+ *
+ * 每一项可以是任意的布局(图标、两行文字等)，由RecyclerView回收复用；[WheelLayoutManager]负责3D样式，
+ * [LinearSnapHelper]在滑动结束后把最近的一项对齐到中间，中间蒙版、高亮和分割线与[WheelView]使用相同的属性。
+ * 每一项的高度应等于X_WheelView的wheelItemHeight，位置变化通过[OnWheelChangedListener]通知，其中view为null。
+ */
+open class WheelRecyclerView @JvmOverloads constructor(
+    context: Context,
+    attrs: AttributeSet? = null,
+    defStyleAttr: Int = 0
+) : RecyclerView(context, attrs, defStyleAttr) {
+    private val mItemCount: Int
+    private val mDividerPaint: Paint
+    private val mHighlightPaint: Paint
+    private val mMiddleMaskPaint: Paint
+    private val mClipRectMiddle = Rect()
+    private val mWheelLayoutManager = WheelLayoutManager(context)
+    private val mSnapHelper = LinearSnapHelper()
+
+    // 使用者设置的上下边距，实际边距还要加上让第一项和最后一项能滚动到中间的空白
+    private val mBasePaddingTop = paddingTop
+    private val mBasePaddingBottom = paddingBottom
+    private var mLastScrollState = SCROLL_STATE_IDLE
+
+    /**
+     * 每一项的高度
+     */
+    val itemHeight: Int
+
+    var onWheelChangedListener: OnWheelChangedListener? = null
+    var onWheelScrollListener: OnWheelScrollListener? = null
+
+    /**
+     * 当前位于中间的一项，没有数据时为-1
+     */
+    var currentIndex = NO_POSITION
+        private set
+
+    /**
+     * 动画切换位置时最多滚动经过的项数，距离更远时先直接跳到目标附近再滚动剩余部分
+     */
+    var maxAnimatedItems = WheelScroller.DEFAULT_MAX_ANIMATED_ITEMS
+
+    /**
+     * 是否以3D滚轮的样式显示
+     */
+    var is3DEnabled: Boolean
+        get() = mWheelLayoutManager.is3DEnabled
+        set(enabled) {
+            mWheelLayoutManager.is3DEnabled = enabled
+            requestLayout()
+        }
+
+    /**
+     * 透视投影的焦距(像素)，越小立体感越强
+     */
+    var focalDistance: Float
+        get() = mWheelLayoutManager.focalDistance
+        set(focalDistance) {
+            mWheelLayoutManager.focalDistance = focalDistance
+        }
+
+    init {
+        val style = WheelStyle.obtain(context, attrs)
+        itemHeight = style.itemHeight
+        mItemCount = style.itemCount
+        mDividerPaint = style.newDividerPaint()
+        mHighlightPaint = style.newHighlightPaint()
+        mMiddleMaskPaint = style.newMiddleMaskPaint()
+        layoutManager = mWheelLayoutManager
+        // 第一项和最后一项需要绘制在上下边距中
+        clipToPadding = false
+        overScrollMode = OVER_SCROLL_NEVER
+        addItemDecoration(WheelDecoration())
+        mSnapHelper.attachToRecyclerView(this)
+        addOnScrollListener(object : OnScrollListener() {
+            override fun onScrolled(recyclerView: RecyclerView, dx: Int, dy: Int) {
+                updateCurrentIndex()
+            }
+
+            override fun onScrollStateChanged(recyclerView: RecyclerView, newState: Int) {
+                dispatchScrollState(newState)
+            }
+        })
+    }
+
+    override fun onMeasure(widthSpec: Int, heightSpec: Int) {
+        var heightMeasureSpec = heightSpec
+        if (MeasureSpec.getMode(heightSpec) != MeasureSpec.EXACTLY) {
+            // 与WheelView、Wheel3DView的预算高度相同
+            var innerHeight = itemHeight * mItemCount
+            if (is3DEnabled) {
+                innerHeight = (innerHeight * 2 / Math.PI).toInt()
+            }
+            val height = resolveSize(innerHeight + mBasePaddingTop + mBasePaddingBottom, heightSpec)
+            heightMeasureSpec = MeasureSpec.makeMeasureSpec(height, MeasureSpec.EXACTLY)
+        }
+        // 宽度为wrap_content时测量过程中就会布局每一项，边距需要在测量前确定
+        updateWheelPadding(MeasureSpec.getSize(heightMeasureSpec))
+        super.onMeasure(widthSpec, heightMeasureSpec)
+    }
+
+    /**
+     * 按高度设置上下边距，让第一项和最后一项能滚动到中间，高度不变时不会重新请求布局
+     */
+    private fun updateWheelPadding(height: Int) {
+        val contentHeight = height - mBasePaddingTop - mBasePaddingBottom
+        val edge = (contentHeight - itemHeight) / 2
+        val top = mBasePaddingTop + edge
+        val bottom = mBasePaddingBottom + contentHeight - itemHeight - edge
+        if (top != paddingTop || bottom != paddingBottom) {
+            setPadding(paddingLeft, top, paddingRight, bottom)
+        }
+    }
+
+    override fun onSizeChanged(w: Int, h: Int, oldw: Int, oldh: Int) {
+        super.onSizeChanged(w, h, oldw, oldh)
+        // 上边距的下沿就是中间区域的上沿
+        mClipRectMiddle.set(paddingLeft, paddingTop, w - paddingRight, paddingTop + itemHeight)
+        mWheelLayoutManager.radius = (h - mBasePaddingTop - mBasePaddingBottom) / 2
+    }
+
+    override fun onLayout(changed: Boolean, l: Int, t: Int, r: Int, b: Int) {
+        super.onLayout(changed, l, t, r, b)
+        // 数据变化、跳转位置后重新布局，中间的一项可能已经改变
+        updateCurrentIndex()
+    }
+
+    /**
+     * 切换到指定位置
+     *
+     * @param animated 是否滚动过去，距离超过[maxAnimatedItems]时先跳到目标附近
+     */
+    fun setCurrentIndex(index: Int, animated: Boolean) {
+        val itemCount = adapter?.itemCount ?: 0
+        if (index < 0 || index >= itemCount) return
+        stopScroll()
+        if (!animated || currentIndex == NO_POSITION) {
+            // 偏移量相对于上边距，上边距的下沿就是中间区域的上沿
+            mWheelLayoutManager.scrollToPositionWithOffset(index, 0)
+            return
+        }
+        val maxItems = maxAnimatedItems.coerceAtLeast(0)
+        val distance = index - currentIndex
+        if (abs(distance) > maxItems) {
+            mWheelLayoutManager.scrollToPositionWithOffset(
+                if (distance > 0) index - maxItems else index + maxItems,
+                0
+            )
+            if (maxItems == 0) return
+            // 跳转后的布局完成后再开始滚动
+            post { smoothScrollToPosition(index) }
+        } else {
+            smoothScrollToPosition(index)
+        }
+    }
+
+    private fun updateCurrentIndex() {
+        val newValue = mWheelLayoutManager.findCenterPosition()
+        if (newValue == currentIndex) return
+        val oldValue = currentIndex
+        currentIndex = newValue
+        onWheelChangedListener?.onChanged(null, oldValue, newValue)
+    }
+
+    /**
+     * RecyclerView的滚动状态转换为[WheelScroller]的滚动状态
+     */
+    private fun dispatchScrollState(newState: Int) {
+        val state = when (newState) {
+            SCROLL_STATE_DRAGGING -> WheelScroller.SCROLL_STATE_DRAGGING
+            // 松手后的滑动是惯性滑动，其余是对齐或跳转的滚动
+            SCROLL_STATE_SETTLING -> if (mLastScrollState == SCROLL_STATE_DRAGGING) {
+                WheelScroller.SCROLL_STATE_FLINGING
+            } else {
+                WheelScroller.SCROLL_STATE_SETTLING
+            }
+
+            else -> WheelScroller.SCROLL_STATE_IDLE
+        }
+        mLastScrollState = newState
+        onWheelScrollListener?.onScrollStateChanged(null, state)
+    }
+
+    /**
+     * 在每一项下面绘制中间蒙版和高亮，在上面绘制分割线
+     */
+    private inner class WheelDecoration : ItemDecoration() {
+        override fun onDraw(c: Canvas, parent: RecyclerView, state: State) {
+            c.drawRect(mClipRectMiddle, mMiddleMaskPaint)
+            c.drawRect(mClipRectMiddle, mHighlightPaint)
+        }
+
+        override fun onDrawOver(c: Canvas, parent: RecyclerView, state: State) {
+            val left = mClipRectMiddle.left.toFloat()
+            val right = mClipRectMiddle.right.toFloat()
+            // 绘制上层分割线
+            val top = mClipRectMiddle.top.toFloat()
+            c.drawLine(left, top, right, top, mDividerPaint)
+            // 绘制下层分割线
+            val bottom = mClipRectMiddle.bottom.toFloat()
+            c.drawLine(left, bottom, right, bottom, mDividerPaint)
+        }
+    }
+}
@@ -0,0 +1,421 @@
+package com.cl.xdialog.choose
+
+import android.graphics.Canvas
+import android.graphics.Matrix
+import android.graphics.Paint
+import android.graphics.Rect
+import android.graphics.Region
+import android.os.Build
+import android.text.Spanned
+import android.text.TextPaint
+import kotlin.math.abs
+import kotlin.math.floor
+import kotlin.math.max
+import kotlin.math.min
+
+/**
+ * name：cl
+ * date：2026/10/18
+ * desc：滚轮文字的绘制
+ *
+ * [WheelView]和[MultiWheelView]共用：计算可见区间，分两遍或逐项裁剪，3D投影和深度渐隐，
+ * 快速滑动时的低质量绘制，以及带样式文字、位图缓存和紧凑存储文字的绘制。
+ * 有多列时每一列再按自己的水平范围裁剪，较长的文字不会画到相邻的列上。
+ */
+internal class WheelRenderer {
+    // 上下两块未选中区域和中间的选中区域
+    val clipRectTop = Rect()
+    val clipRectMiddle = Rect()
+    val clipRectBottom = Rect()
+
+    lateinit var textPaint: TextPaint
+    lateinit var selectedTextPaint: TextPaint
+
+    var itemHeight = 0
+
+    // 同时显示的项数
+    var itemCount = 0
+
+    // 文字基线相对于中心线的偏移量
+    var textBaseline = 0
+
+    var isTwoPassClip = true
+    var isAdaptiveQuality = false
+    var adaptiveQualityThreshold = WheelView.DEFAULT_ADAPTIVE_QUALITY_THRESHOLD
+
+    /**
+     * 是否按3D滚轮投影、渐隐
+     */
+    var is3D = false
+    var focalDistance = WheelProjection.DEFAULT_FOCAL_DISTANCE
+
+    // 录制的内容会被缓存，不能引用之后还会改变的图集位图
+    var isLabelAtlasBypassed = false
+
+    /**
+     * 最近一次计算的可见区间[visibleStart, visibleEnd)
+     */
+    var visibleStart = 0
+        private set
+    var visibleEnd = 0
+        private set
+
+    // 所有列共用的3D变换表，按中心x为0计算，绘制时平移到各列中心
+    private val mTransformTable = WheelTransformTable()
+    private val mMatrix = Matrix()
+    private val mDepthFade = WheelDepthFade()
+
+    // 绘制紧凑存储的文字时复用，不为每一项创建字符串
+    private val mPackedLabel = PackedWheelAdapter.Label()
+
+    // 低质量绘制专用的无抗锯齿画笔，不修改共用的画笔
+    private val mFastTextPaint = TextPaint()
+    private val mFastSelectedTextPaint = TextPaint()
+
+    fun setBounds(left: Int, top: Int, right: Int, bottom: Int) {
+        val middle = (top + bottom) / 2
+        clipRectMiddle.set(left, middle - itemHeight / 2, right, middle + itemHeight / 2)
+        clipRectTop.set(left, top, right, clipRectMiddle.top)
+        clipRectBottom.set(left, clipRectMiddle.bottom, right, bottom)
+    }
+
+    // 滚轮的半径
+    private val radius: Int
+        get() = (clipRectBottom.bottom - clipRectTop.top) / 2
+
+    /**
+     * 选中层绘制前的水平偏移量，3D滚轮的折射效果
+     */
+    val selectedOffsetX: Float
+        get() = if (is3D) textPaint.textSize * .05f else 0f
+
+    /**
+     * 本帧这一列是否以低质量绘制：快速惯性滑动时文字无法看清，不再需要完整的效果
+     */
+    fun isLowQuality(column: WheelColumn): Boolean {
+        val controller = column.controller
+        return isAdaptiveQuality && controller.scrollState == WheelController.SCROLL_STATE_FLINGING
+                && abs(controller.velocity) > adaptiveQualityThreshold * itemHeight
+    }
+
+    /**
+     * 绘制所有列的可见文字
+     */
+    fun drawItems(canvas: Canvas, columns: List<WheelColumn>) {
+        if (itemHeight <= 0) return
+        val count = columns.size
+        var fullQuality = 0
+        for (i in 0 until count) {
+            if (!isLowQuality(columns[i])) {
+                fullQuality++
+            }
+        }
+        if (fullQuality > 0) {
+            var saveCount = -1
+            if (is3D) {
+                val centerY = clipRectMiddle.centerY().toFloat()
+                // 尺寸不变时直接查表，只在尺寸或焦距变化时重新计算
+                mTransformTable.update(radius, 0f, centerY, focalDistance)
+                // 离中间越远越透明：所有列绘制完后整体混合一次渐变蒙版，绘制每一项时不修改画笔
+                mDepthFade.update(
+                    clipRectTop.left.toFloat(),
+                    clipRectTop.top.toFloat(),
+                    clipRectBottom.right + selectedOffsetX,
+                    clipRectBottom.bottom.toFloat(),
+                    centerY,
+                    radius,
+                    clipRectMiddle.height() / 2f
+                )
+                saveCount = mDepthFade.saveLayer(canvas)
+            }
+            if (isTwoPassClip) {
+                drawTwoPass(canvas, columns)
+            } else {
+                for (i in 0 until count) {
+                    val column = columns[i]
+                    if (!isLowQuality(column)) {
+                        drawPerItem(canvas, column)
+                    }
+                }
+            }
+            mDepthFade.restore(canvas, saveCount)
+        }
+        if (fullQuality < count) {
+            for (i in 0 until count) {
+                val column = columns[i]
+                if (isLowQuality(column)) {
+                    drawFast(canvas, column)
+                }
+            }
+        }
+    }
+
+    private fun drawTwoPass(canvas: Canvas, columns: List<WheelColumn>) {
+        val count = columns.size
+        // 未选中的文字：整体裁掉中间区域后一次绘制
+        canvas.save()
+        clipOutsideMiddle(canvas)
+        for (i in 0 until count) {
+            val column = columns[i]
+            if (!isLowQuality(column)) {
+                drawLayer(canvas, column, false, count > 1)
+            }
+        }
+        canvas.restore()
+        // 选中的文字：只裁剪一次中间区域
+        canvas.save()
+        canvas.translate(selectedOffsetX, 0f)
+        canvas.clipRect(clipRectMiddle)
+        for (i in 0 until count) {
+            val column = columns[i]
+            if (!isLowQuality(column)) {
+                drawLayer(canvas, column, true, count > 1)
+            }
+        }
+        canvas.restore()
+    }
+
+    private fun drawLayer(canvas: Canvas, column: WheelColumn, selected: Boolean, clipColumn: Boolean) {
+        val index = column.controller.itemIndex
+        val offset = column.controller.itemOffset
+        computeVisibleWindow(column, index, offset, is3D)
+        if (visibleStart >= visibleEnd) return
+        if (clipColumn) {
+            canvas.save()
+            canvas.clipRect(column.left, clipRectTop.top, column.right, clipRectBottom.bottom)
+        }
+        for (i in visibleStart until visibleEnd) {
+            drawItemLayer(canvas, column, i, index, offset, selected)
+        }
+        if (clipColumn) {
+            canvas.restore()
+        }
+    }
+
+    /**
+     * 逐项裁剪绘制，每一项由[WheelColumn.drawItem]绘制
+     */
+    private fun drawPerItem(canvas: Canvas, column: WheelColumn) {
+        val offset = column.controller.itemOffset
+        computeVisibleWindow(column, column.controller.itemIndex, offset, is3D)
+        for (i in visibleStart until visibleEnd) {
+            column.drawItem(canvas, this, i, offset)
+        }
+    }
+
+    /**
+     * 逐项裁剪绘制一项，最多两次save/clipRect/restore，裁剪范围同时限制在这一列内
+     *
+     * @param offset 中间选项的偏移量
+     */
+    fun drawItem(canvas: Canvas, column: WheelColumn, i: Int, offset: Float) {
+        val index = column.controller.itemIndex
+        // 和中间选项的距离
+        val range = (i - index) * itemHeight - offset
+        // 与中间区域相交的部分用选中颜色绘制
+        if (range > -itemHeight && range < itemHeight) {
+            canvas.save()
+            canvas.translate(selectedOffsetX, 0f)
+            canvas.clipRect(column.left, clipRectMiddle.top, column.right, clipRectMiddle.bottom)
+            drawItemLayer(canvas, column, i, index, offset, true)
+            canvas.restore()
+        }
+        // 中间区域以外的部分用普通颜色绘制
+        if (range != 0f) {
+            val rect = if (range > 0) clipRectBottom else clipRectTop
+            canvas.save()
+            canvas.clipRect(column.left, rect.top, column.right, rect.bottom)
+            drawItemLayer(canvas, column, i, index, offset, false)
+            canvas.restore()
+        }
+    }
+
+    /**
+     * 在已裁剪好的画布上绘制一项的选中层或未选中层，不在该层内的项直接跳过
+     */
+    private fun drawItemLayer(
+        canvas: Canvas,
+        column: WheelColumn,
+        i: Int,
+        index: Int,
+        offset: Float,
+        selected: Boolean
+    ) {
+        val range = (i - index) * itemHeight - offset
+        if (selected) {
+            if (range <= -itemHeight || range >= itemHeight) return
+        } else if (range == 0f) {
+            return
+        }
+        val text = getDrawText(column, i) ?: return
+        drawItemText(canvas, column, i, text, range, if (selected) selectedTextPaint else textPaint)
+    }
+
+    /**
+     * 低质量绘制：不做3D变换、不裁剪中间区域、关闭抗锯齿，每项只绘制一次，
+     * 最靠近中间的一项使用选中颜色
+     */
+    private fun drawFast(canvas: Canvas, column: WheelColumn) {
+        val index = column.controller.itemIndex
+        val offset = column.controller.itemOffset
+        computeVisibleWindow(column, index, offset, false)
+        val centerX = column.centerX
+        val centerY = clipRectMiddle.centerY().toFloat()
+        val halfItemHeight = itemHeight / 2f
+        val fastTextPaint = syncFastPaint(textPaint, mFastTextPaint)
+        val fastSelectedTextPaint = syncFastPaint(selectedTextPaint, mFastSelectedTextPaint)
+        canvas.save()
+        canvas.clipRect(column.left, clipRectTop.top, column.right, clipRectBottom.bottom)
+        for (i in visibleStart until visibleEnd) {
+            val range = (i - index) * itemHeight - offset
+            val text = getDrawText(column, i) ?: continue
+            val paint = if (abs(range) < halfItemHeight) fastSelectedTextPaint else fastTextPaint
+            drawLabel(canvas, column, i, text, centerX, centerY + range, paint)
+        }
+        canvas.restore()
+    }
+
+    /**
+     * 共用画笔的颜色、字号、字体或标志变化后才重新复制到低质量画笔
+     */
+    private fun syncFastPaint(source: TextPaint, fast: TextPaint): TextPaint {
+        if (fast.color != source.color || fast.textSize != source.textSize
+            || fast.typeface !== source.typeface || fast.textAlign != source.textAlign
+            || fast.flags != source.flags and Paint.ANTI_ALIAS_FLAG.inv()
+        ) {
+            fast.set(source)
+            fast.isAntiAlias = false
+        }
+        return fast
+    }
+
+    /**
+     * 裁剪为上下两块未选中区域
+     */
+    fun clipOutsideMiddle(canvas: Canvas) {
+        canvas.clipRect(clipRectTop.left, clipRectTop.top, clipRectBottom.right, clipRectBottom.bottom)
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.O) {
+            canvas.clipOutRect(clipRectMiddle)
+        } else {
+            @Suppress("DEPRECATION")
+            canvas.clipRect(clipRectMiddle, Region.Op.DIFFERENCE)
+        }
+    }
+
+    /**
+     * 计算需要绘制的位置区间[visibleStart, visibleEnd)
+     *
+     * @param index 中间选项的位置
+     * @param offset 中间选项的偏移量
+     * @param projected 是否按3D投影去掉和y轴垂直之后的位置
+     */
+    fun computeVisibleWindow(column: WheelColumn, index: Int, offset: Float, projected: Boolean) {
+        val hf = (itemCount + 1) / 2
+        var minIdx: Int
+        var maxIdx: Int
+        if (offset < 0f) {
+            minIdx = index - hf - 1
+            maxIdx = index + hf
+        } else if (offset > 0f) {
+            minIdx = index - hf
+            maxIdx = index + hf + 1
+        } else {
+            minIdx = index - hf
+            maxIdx = index + hf
+        }
+        if (projected) {
+            // 当滑动的角度和y轴垂直时（此时文字已经显示为一条线），不绘制文字，
+            // 只保留满足|(i - index) * itemHeight - offset| <= r * PI / 2的位置
+            val maxRange = mTransformTable.maxRange
+            if (maxRange <= 0) {
+                visibleStart = 0
+                visibleEnd = 0
+                return
+            }
+            minIdx = max(minIdx, index - floor((maxRange - offset) / itemHeight).toInt())
+            maxIdx = min(maxIdx, index + floor((maxRange + offset) / itemHeight).toInt() + 1)
+        }
+        if (!column.isCyclic) {
+            // 不循环时超出数据范围的位置没有文字
+            minIdx = max(minIdx, 0)
+            maxIdx = min(maxIdx, column.itemSize)
+        }
+        visibleStart = minIdx
+        visibleEnd = max(minIdx, maxIdx)
+    }
+
+    /**
+     * 绘制一项文字，画布已按所在层裁剪
+     *
+     * @param text 只在本次调用中有效，紧凑存储的数据会复用同一个对象，不能保存
+     * @param range 和中间选项的距离，滚动中可以是小数
+     */
+    fun drawItemText(
+        canvas: Canvas,
+        column: WheelColumn,
+        index: Int,
+        text: CharSequence,
+        range: Float,
+        paint: TextPaint
+    ) {
+        val centerY = clipRectMiddle.centerY().toFloat()
+        if (!is3D) {
+            drawLabel(canvas, column, index, text, column.centerX, centerY + range, paint)
+            return
+        }
+        // 小数距离在相邻两项之间插值
+        if (!mTransformTable.contains(range)) return
+        mTransformTable.getMatrix(range, mMatrix)
+        canvas.save()
+        canvas.translate(column.centerX, 0f)
+        canvas.concat(mMatrix)
+        drawLabel(canvas, column, index, text, 0f, centerY + mTransformTable.getTranslateY(range), paint)
+        canvas.restore()
+    }
+
+    /**
+     * 以(centerX, centerY)为中心绘制文字，启用位图缓存且软件绘制时从图集中贴图
+     *
+     * @param index 滚轮上的位置，循环滚轮可以超出数据范围
+     */
+    private fun drawLabel(
+        canvas: Canvas,
+        column: WheelColumn,
+        index: Int,
+        text: CharSequence,
+        centerX: Float,
+        centerY: Float,
+        paint: TextPaint
+    ) {
+        if (text is Spanned) {
+            // 带样式的文字在后台排版完成前按纯文字绘制
+            val baselineY = centerY - textBaseline
+            if (!column.styledLabels.draw(canvas, column.normalizeIndex(index), centerX, baselineY, paint)) {
+                canvas.drawText(text.toString(), centerX, baselineY, paint)
+            }
+            return
+        }
+        // 硬件加速时图集位图每写入一项都要整体重新上传纹理，直接绘制文字由GPU的字形缓存处理
+        val atlas = if (isLabelAtlasBypassed || canvas.isHardwareAccelerated) null else column.labelAtlas
+        if (atlas == null || !atlas.draw(
+                canvas, column.normalizeIndex(index), text, centerX, centerY, textBaseline, paint
+            )
+        ) {
+            if (text is PackedWheelAdapter.Label) {
+                canvas.drawText(text.chars, text.start, text.length, centerX, centerY - textBaseline, paint)
+            } else {
+                canvas.drawText(text, 0, text.length, centerX, centerY - textBaseline, paint)
+            }
+        }
+    }
+
+    /**
+     * 绘制用的文字，紧凑存储的数据返回复用的[PackedWheelAdapter.Label]
+     */
+    fun getDrawText(column: WheelColumn, index: Int): CharSequence? {
+        val i = column.normalizeIndex(index)
+        if (i < 0) return null
+        val adapter = column.adapter
+        return if (adapter is PackedWheelAdapter) mPackedLabel.set(adapter, i) else adapter!!.getLabel(i)
+    }
+}
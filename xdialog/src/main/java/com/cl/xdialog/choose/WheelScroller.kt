@@ -1,199 +1,175 @@
 package com.cl.xdialog.choose
 
 import android.content.Context
+import android.view.Choreographer
 import android.view.MotionEvent
-import android.view.VelocityTracker
-import android.widget.Scroller
-import kotlin.math.abs
 
 /**
  * name：cl
  * date：2024/02/02
  * desc：滚轮滑动
+ *
+ * 负责帧回调和监听器通知，滚动状态和位置变化的通知方式由[WheelController]完成，
+ * 触摸事件由[WheelTouchTracker]转换，与[MultiWheelView]的每一列相同
  */
-class WheelScroller(context: Context?, private val mWheelView: WheelView) : Scroller(context) {
-    private var mScrollOffset = 0
-    private var lastTouchY = 0f
-    private var isScrolling = false
-    private var mVelocityTracker: VelocityTracker? = null
+class WheelScroller(context: Context?, private val mWheelView: WheelView) :
+    Choreographer.FrameCallback, WheelPhysics.Geometry {
+    internal val controller = WheelController(this, object : WheelController.Host {
+        override fun requestFrame() {
+            postFrame()
+        }
+
+        override fun invalidate() {
+            mWheelView.invalidate()
+        }
+
+        override fun onWheelChanged(oldIndex: Int, newIndex: Int) {
+            onWheelChangedListener?.onChanged(mWheelView, oldIndex, newIndex)
+        }
+
+        override fun onScrollStateChanged(state: Int) {
+            onWheelScrollListener?.onScrollStateChanged(mWheelView, state)
+        }
+    })
+    private val mTouchTracker = WheelTouchTracker(mWheelView.context)
+    private var isFramePosted = false
     var onWheelChangedListener: OnWheelChangedListener? = null
-    private var action = -1
-    var currentIndex = -1
-    fun computeScroll() {
-        if (isScrolling) {
-            isScrolling = computeScrollOffset()
-            //在move 事件中已调用了doScroll（）,这里应该不再调用
-            if (action != MotionEvent.ACTION_MOVE) {
-                doScroll(currY - mScrollOffset);
-            }
-            if (isScrolling) {
-                mWheelView.postInvalidate();
-            } else {
-                // 滚动结束后，重新调整位置
-                justify()
-            }
+    var onWheelScrollListener: OnWheelScrollListener? = null
+
+    val currentIndex: Int
+        get() = controller.currentIndex
+
+    /**
+     * 位置变化的通知方式：[DISPATCH_EVERY_INDEX]、[DISPATCH_PER_FRAME]或[DISPATCH_SETTLED]
+     */
+    var dispatchMode: Int
+        get() = controller.dispatchMode
+        set(mode) {
+            controller.dispatchMode = mode
         }
-    }
-    private fun doScroll(distance: Int): Boolean {
-        val scrollOffset = mScrollOffset
-        mScrollOffset += distance
-        if (!mWheelView.isCyclic) {
-            // 限制滚动边界
-            val maxOffset = (mWheelView.itemSize - 1) * mWheelView.mItemHeight
-            if (mScrollOffset < 0) {
-                mScrollOffset = 0
-            } else if (mScrollOffset > maxOffset) {
-                mScrollOffset = maxOffset
-            }
+
+    /**
+     * 当前滚动状态
+     */
+    val scrollState: Int
+        get() = controller.scrollState
+
+    /**
+     * 是否在惯性滑动开始时就把终点对齐到最近的一项，滑动结束后不再需要调整位置
+     */
+    var isSnapFling: Boolean
+        get() = controller.isSnapFling
+        set(value) {
+            controller.isSnapFling = value
         }
-        if (mScrollOffset != scrollOffset) {
-            notifyWheelChangedListener()
-            return true
+
+    /**
+     * 不循环的滚轮惯性滑动到边界时允许越过边界的距离(像素)，大于0时越界后回弹，为0时到达边界立即停止
+     */
+    var overscrollDistance: Int
+        get() = controller.overscrollDistance
+        set(value) {
+            controller.overscrollDistance = value
         }
-        return false
-    }
 
-    private fun notifyWheelChangedListener() {
-        val oldValue = currentIndex
-        val newValue = getCurrentIndex()
-        if (oldValue != newValue) {
-            currentIndex = newValue
-            if (onWheelChangedListener != null) {
-                onWheelChangedListener!!.onChanged(mWheelView, oldValue, newValue)
-            }
+    /**
+     * 动画切换位置时最多滚动经过的项数，距离更远时先直接跳到目标附近再滚动剩余部分
+     */
+    var maxAnimatedItems: Int
+        get() = controller.maxAnimatedItems
+        set(count) {
+            controller.maxAnimatedItems = count
         }
+
+    /**
+     * 滚动动画当前的速度(像素/秒)，拖动和静止时为0
+     */
+    val velocity: Float
+        get() = controller.velocity
+
+    override val itemHeight: Int
+        get() = mWheelView.mItemHeight
+
+    override val itemSize: Int
+        get() = mWheelView.itemSize
+
+    override val isCyclic: Boolean
+        get() = mWheelView.isCyclic
+
+    /**
+     * 由Choreographer在每一帧垂直同步时回调推进滚动动画，按帧时间插值，不受绘制时机影响
+     */
+    override fun doFrame(frameTimeNanos: Long) {
+        isFramePosted = false
+        controller.doFrame(WheelController.frameTimeMillis(frameTimeNanos))
     }
-    @JvmName("getCurrentIndexUnique")
-    private fun getCurrentIndex(): Int {
-        val itemHeight = mWheelView.mItemHeight
-        val itemSize = mWheelView.itemSize
-        if (itemSize == 0) return -1
-        val itemIndex: Int = if (mScrollOffset < 0) {
-            (mScrollOffset - itemHeight / 2) / itemHeight
-        } else {
-            (mScrollOffset + itemHeight / 2) / itemHeight
+
+    /**
+     * 在下一帧推进滚动动画
+     */
+    private fun postFrame() {
+        if (!isFramePosted) {
+            isFramePosted = true
+            Choreographer.getInstance().postFrameCallback(this)
         }
-        var currentIndex = itemIndex % itemSize
-        if (currentIndex < 0) {
-            currentIndex += itemSize
+    }
+
+    /**
+     * 立即停止滚动动画，停在当前位置
+     */
+    fun stop() {
+        if (isFramePosted) {
+            isFramePosted = false
+            Choreographer.getInstance().removeFrameCallback(this)
         }
-        return currentIndex
+        controller.stop()
     }
 
     fun setCurrentIndex(index: Int, animated: Boolean) {
-        val position = index * mWheelView.mItemHeight
-        val distance = position - mScrollOffset
-        if (distance == 0) return
-        if (animated) {
-            isScrolling = true
-            startScroll(0, mScrollOffset, 0, distance, JUSTIFY_DURATION)
-            mWheelView.invalidate()
-        } else {
-            if (doScroll(distance)) {
-                mWheelView.invalidate()
-            }
-        }
+        controller.setCurrentIndex(index, animated, WheelController.uptimeMillis())
     }
 
     val itemIndex: Int
-        get() = if (mWheelView.mItemHeight == 0) 0 else mScrollOffset / mWheelView.mItemHeight
-    val itemOffset: Int
-        get() = if (mWheelView.mItemHeight == 0) 0 else mScrollOffset % mWheelView.mItemHeight
+        get() = controller.itemIndex
+    val itemOffset: Float
+        get() = controller.itemOffset
 
     fun reset() {
-        isScrolling = false
-        mScrollOffset = 0
-        currentIndex = -1
-        notifyWheelChangedListener()
-        forceFinished(true)
+        controller.reset()
     }
 
     /**
-     * 当滚轮结束滑行后，调整滚轮的位置，需要调用该方法
+     * 数据变化后保持当前的位置和偏移量，只有当前位置超出新的数据范围时才移到最后一项，并通知这一次变化
      */
-    private fun justify() {
-        val itemHeight = mWheelView.mItemHeight
-        val offset = mScrollOffset % itemHeight
-        if (offset > 0 && offset < itemHeight / 2) {
-            isScrolling = true
-            startScroll(0, mScrollOffset, 0, -offset, JUSTIFY_DURATION)
-            mWheelView.invalidate()
-        } else if (offset >= itemHeight / 2) {
-            isScrolling = true
-            startScroll(0, mScrollOffset, 0, itemHeight - offset, JUSTIFY_DURATION)
-            mWheelView.invalidate()
-        } else if (offset < 0 && offset > -itemHeight / 2) {
-            isScrolling = true
-            startScroll(0, mScrollOffset, 0, -offset, JUSTIFY_DURATION)
-            mWheelView.invalidate()
-        } else if (offset <= -itemHeight / 2) {
-            isScrolling = true
-            startScroll(0, mScrollOffset, 0, -itemHeight - offset, JUSTIFY_DURATION)
-            mWheelView.invalidate()
-        }
+    fun onDataSetChanged() {
+        controller.onDataSetChanged()
     }
 
     fun onTouchEvent(event: MotionEvent): Boolean {
-        action = event.action
-        if (mVelocityTracker == null) {
-            mVelocityTracker = VelocityTracker.obtain()
-        }
-        mVelocityTracker!!.addMovement(event)
-        when (event.action) {
-            MotionEvent.ACTION_DOWN -> {
-                lastTouchY = event.y
-                forceFinished(true)
-                mWheelView.parent.requestDisallowInterceptTouchEvent(true)
-            }
-
-            MotionEvent.ACTION_MOVE -> {
-                val touchY = event.y
-                val deltaY = (touchY - lastTouchY).toInt()
-                if (deltaY != 0) {
-                    if (doScroll(-deltaY)) {
-                        mWheelView.invalidate()
-                    } else {
-                        mWheelView.parent.requestDisallowInterceptTouchEvent(false)
-                    }
-                }
-                lastTouchY = touchY
-            }
-
-            MotionEvent.ACTION_UP -> {
-                mVelocityTracker!!.computeCurrentVelocity(1000)
-                val velocityY = mVelocityTracker!!.yVelocity
-                if (abs(velocityY) > 0) {
-                    isScrolling = true
-                    fling(
-                        0,
-                        mScrollOffset,
-                        0,
-                        -velocityY.toInt(),
-                        0,
-                        0,
-                        Int.MIN_VALUE,
-                        Int.MAX_VALUE
-                    )
-                    mWheelView.invalidate()
-                } else {
-                    justify()
-                }
-                // 当触发抬起、取消事件后，回收VelocityTracker
-                if (mVelocityTracker != null) {
-                    mVelocityTracker!!.recycle()
-                    mVelocityTracker = null
-                }
-            }
-
-            MotionEvent.ACTION_CANCEL -> if (mVelocityTracker != null) {
-                mVelocityTracker!!.recycle()
-                mVelocityTracker = null
-            }
-        }
+        mTouchTracker.onTouchEvent(mWheelView, event, controller)
         return true
     }
 
     companion object {
-        const val JUSTIFY_DURATION = 400
+        const val JUSTIFY_DURATION = WheelPhysics.JUSTIFY_DURATION
+        const val BOUNCE_DURATION = WheelPhysics.BOUNCE_DURATION
+
+        // 动画切换位置时默认最多滚动经过的项数
+        const val DEFAULT_MAX_ANIMATED_ITEMS = WheelController.DEFAULT_MAX_ANIMATED_ITEMS
+
+        // 滚动状态：静止、拖动、惯性滑动、调整位置
+        const val SCROLL_STATE_IDLE = WheelController.SCROLL_STATE_IDLE
+        const val SCROLL_STATE_DRAGGING = WheelController.SCROLL_STATE_DRAGGING
+        const val SCROLL_STATE_FLINGING = WheelController.SCROLL_STATE_FLINGING
+        const val SCROLL_STATE_SETTLING = WheelController.SCROLL_STATE_SETTLING
+
+        // 每经过一个位置通知一次
+        const val DISPATCH_EVERY_INDEX = WheelController.DISPATCH_EVERY_INDEX
+
+        // 每帧最多通知一次最新的位置
+        const val DISPATCH_PER_FRAME = WheelController.DISPATCH_PER_FRAME
+
+        // 滚轮停止后才通知
+        const val DISPATCH_SETTLED = WheelController.DISPATCH_SETTLED
     }
 }
@@ -0,0 +1,163 @@
+package com.cl.xdialog.choose
+
+import android.content.Context
+import android.content.res.Configuration
+import android.content.res.Resources
+import android.graphics.Color
+import android.graphics.Paint
+import android.text.TextPaint
+import android.util.AttributeSet
+import com.cl.xdialog.R
+import java.util.WeakHashMap
+import kotlin.math.ceil
+
+/**
+ * name：cl
+ * date：2026/10/18
+ * desc：解析好的滚轮样式
+ *
+ * 按主题、style和布局中直接写的滚轮属性值缓存，同一界面创建多个滚轮时(多列选择器、列表中的滚轮)
+ * 只解析一次属性和资源，之后的滚轮直接复制其中的画笔原型。字体缩放、密度、夜间模式等配置变化后重新解析。
+ */
+internal class WheelStyle private constructor(context: Context, attrs: AttributeSet?) {
+    val cyclic: Boolean
+    val autoWidth: Boolean
+    val itemCount: Int
+    val itemWidth: Int
+    val itemHeight: Int
+    val middleMaskColor: Int
+    val entries: Array<CharSequence>?
+
+    // 文字基线相对于中心线的偏移量和文字高度
+    val textBaseline: Int
+    val textHeight: Int
+
+    // 画笔原型，只用于复制，不能修改
+    private val mTextPaint = TextPaint()
+    private val mSelectedTextPaint = TextPaint()
+    private val mDividerPaint = Paint()
+    private val mHighlightPaint = Paint()
+    private val mMiddleMaskPaint = Paint()
+
+    init {
+        val resources = context.resources
+        val a = context.obtainStyledAttributes(attrs, R.styleable.X_WheelView)
+        cyclic = a.getBoolean(R.styleable.X_WheelView_wheelCyclic, false)
+        autoWidth = a.getBoolean(R.styleable.X_WheelView_wheelAutoWidth, false)
+        itemCount = a.getInt(R.styleable.X_WheelView_wheelItemCount, 9)
+        itemWidth = a.getDimensionPixelOffset(
+            R.styleable.X_WheelView_wheelItemWidth,
+            resources.getDimensionPixelOffset(R.dimen.x_wheel_item_width)
+        )
+        itemHeight = a.getDimensionPixelOffset(
+            R.styleable.X_WheelView_wheelItemHeight,
+            resources.getDimensionPixelOffset(R.dimen.x_wheel_item_height)
+        )
+        val textSize = a.getDimensionPixelSize(
+            R.styleable.X_WheelView_wheelTextSize,
+            resources.getDimensionPixelSize(R.dimen.x_wheel_text_size)
+        )
+        val textColor = a.getColor(
+            R.styleable.X_WheelView_wheelTextColor,
+            resources.getColor(R.color.x_wheel_text_color)
+        )
+        val selectedTextColor = a.getColor(
+            R.styleable.X_WheelView_wheelSelectedTextColor,
+            resources.getColor(R.color.x_wheel_selected_text_color)
+        )
+        val dividerColor = a.getColor(
+            R.styleable.X_WheelView_wheelDividerColor,
+            resources.getColor(R.color.x_wheel_divider_color)
+        )
+        val highlightColor = a.getColor(
+            R.styleable.X_WheelView_wheelHighlightColor,
+            resources.getColor(R.color.x_wheel_highlight_color)
+        )
+        //中间蒙版图层颜色,默认灰色
+        middleMaskColor = a.getColor(
+            R.styleable.X_WheelView_wheelMiddleLayerColor,
+            Color.parseColor("#E1E8F9")
+        )
+        entries = a.getTextArray(R.styleable.X_WheelView_wheelEntries)
+        a.recycle()
+        mTextPaint.isAntiAlias = true
+        mTextPaint.textAlign = Paint.Align.CENTER
+        mTextPaint.textSize = textSize.toFloat()
+        mTextPaint.color = textColor
+        mSelectedTextPaint.isAntiAlias = true
+        mSelectedTextPaint.textAlign = Paint.Align.CENTER
+        mSelectedTextPaint.textSize = textSize.toFloat()
+        mSelectedTextPaint.color = selectedTextColor
+        mDividerPaint.isAntiAlias = true
+        mDividerPaint.strokeWidth =
+            resources.getDimensionPixelOffset(R.dimen.x_wheel_divider_height).toFloat()
+        mDividerPaint.color = dividerColor
+        mHighlightPaint.isAntiAlias = true
+        mHighlightPaint.style = Paint.Style.FILL
+        mHighlightPaint.color = highlightColor
+        mMiddleMaskPaint.isAntiAlias = true
+        mMiddleMaskPaint.color = middleMaskColor
+        val fontMetrics = mTextPaint.fontMetrics
+        textBaseline = ((fontMetrics.top + fontMetrics.bottom) / 2).toInt()
+        textHeight = ceil(fontMetrics.bottom - fontMetrics.top).toInt()
+    }
+
+    fun newTextPaint(): TextPaint = TextPaint(mTextPaint)
+
+    fun newSelectedTextPaint(): TextPaint = TextPaint(mSelectedTextPaint)
+
+    fun newDividerPaint(): Paint = Paint(mDividerPaint)
+
+    fun newHighlightPaint(): Paint = Paint(mHighlightPaint)
+
+    fun newMiddleMaskPaint(): Paint = Paint(mMiddleMaskPaint)
+
+    companion object {
+        // 主题 -> 该主题下的样式，主题回收后自动移除；WeakHashMap不是线程安全的，访问时加锁
+        private val sCache = WeakHashMap<Resources.Theme, ThemeStyles>()
+
+        /**
+         * 获取滚轮样式，缓存由所有线程共用，在后台线程创建滚轮时同样安全
+         */
+        @JvmStatic
+        fun obtain(context: Context, attrs: AttributeSet?): WheelStyle {
+            val theme = context.theme ?: return WheelStyle(context, attrs)
+            val configuration = context.resources.configuration
+            synchronized(sCache) {
+                var themeStyles = sCache[theme]
+                if (themeStyles == null) {
+                    themeStyles = ThemeStyles(Configuration(configuration))
+                    sCache[theme] = themeStyles
+                } else if (themeStyles.configuration != configuration) {
+                    // 尺寸、颜色资源可能随配置变化，Resources会原地修改配置，因此保存的是副本
+                    themeStyles.styles.clear()
+                    themeStyles.configuration = Configuration(configuration)
+                }
+                return themeStyles.styles.getOrPut(cacheKey(attrs)) { WheelStyle(context, attrs) }
+            }
+        }
+
+        /**
+         * @return style资源加上布局中直接写的滚轮属性(属性id和原始值)，键相同时解析结果相同
+         */
+        private fun cacheKey(attrs: AttributeSet?): String {
+            if (attrs == null) return "0"
+            val key = StringBuilder().append(attrs.styleAttribute)
+            val wheelAttrs = R.styleable.X_WheelView
+            for (i in 0 until attrs.attributeCount) {
+                val name = attrs.getAttributeNameResource(i)
+                if (name != 0 && wheelAttrs.contains(name)) {
+                    key.append('|').append(name).append('=').append(attrs.getAttributeValue(i))
+                }
+            }
+            return key.toString()
+        }
+    }
+
+    /**
+     * 同一主题下按[cacheKey]缓存的样式，以及解析时的配置
+     */
+    private class ThemeStyles(var configuration: Configuration) {
+        val styles = HashMap<String, WheelStyle>()
+    }
+}
@@ -0,0 +1,185 @@
+package com.cl.xdialog.choose
+
+import android.graphics.Canvas
+import android.graphics.Paint
+import android.os.Build
+import android.os.Handler
+import android.os.Looper
+import android.text.Layout
+import android.text.PrecomputedText
+import android.text.Spanned
+import android.text.StaticLayout
+import android.text.TextPaint
+import java.util.concurrent.ExecutorService
+import java.util.concurrent.Executors
+import kotlin.math.ceil
+import kotlin.math.max
+import kotlin.math.min
+
+/**
+ * name：cl
+ * date：2026/10/18
+ * desc：带样式文字的后台排版
+ *
+ * [Spanned]文字每次绘制都要按样式分段测量。绘制到某一项时，把它和前后各[PREFETCH_MARGIN]项中带样式的文字
+ * 交给后台线程排版为单行的[StaticLayout]（Android 9及以上先计算[PrecomputedText]），完成后回到主线程放入缓存并重绘，
+ * 之后直接绘制排版结果；完成之前由调用方按纯文字绘制。缓存按数据中的位置淘汰最久未用的一项，
+ * 容量只覆盖可见项和预取的余量，与数据量无关，也不会整体遍历适配器。
+ */
+internal class WheelStyledLabels(private val onReady: () -> Unit) {
+    private var mAdapter: WheelAdapter? = null
+
+    // 排版用的画笔，文字的水平位置由排版结果决定，必须左对齐
+    private var mPaint: TextPaint? = null
+    private var mKeys = IntArray(0)
+    private var mLayouts = arrayOfNulls<Layout>(0)
+    private var mStamps = LongArray(0)
+    private var mClock = 0L
+
+    // 已交给后台排版、尚未完成的位置
+    private val mPending = HashSet<Int>()
+
+    // 每次更新加一，过期的排版结果直接丢弃
+    private var mGeneration = 0
+
+    /**
+     * 数据或文字样式变化后清空缓存，之后绘制到的项重新排版
+     *
+     * @param visibleCount 同时可见的项数
+     */
+    fun update(adapter: WheelAdapter?, paint: TextPaint, visibleCount: Int) {
+        mGeneration++
+        mAdapter = adapter
+        mPaint = TextPaint(paint).apply { textAlign = Paint.Align.LEFT }
+        // 可见项在滚动中最多多出两项，再加上前后预取的余量
+        val capacity = visibleCount + 2 + PREFETCH_MARGIN * 2
+        if (mKeys.size != capacity) {
+            mKeys = IntArray(capacity)
+            mLayouts = arrayOfNulls(capacity)
+            mStamps = LongArray(capacity)
+        }
+        mKeys.fill(NO_KEY)
+        mLayouts.fill(null)
+        mPending.clear()
+    }
+
+    /**
+     * 绘制已排版的文字，水平居中于centerX；尚未排版时交给后台排版
+     *
+     * @param index 文字在数据中的位置
+     * @param baselineY 文字基线的位置
+     * @return 尚未排版完成时返回false
+     */
+    fun draw(canvas: Canvas, index: Int, centerX: Float, baselineY: Float, paint: Paint): Boolean {
+        val slot = find(index)
+        if (slot < 0) {
+            request(index)
+            return false
+        }
+        mStamps[slot] = ++mClock
+        val layout = mLayouts[slot]!!
+        // 样式中没有指定颜色的部分使用选中或未选中的颜色
+        layout.paint.color = paint.color
+        canvas.save()
+        canvas.translate(centerX - layout.width / 2f, baselineY - layout.getLineBaseline(0))
+        layout.draw(canvas)
+        canvas.restore()
+        return true
+    }
+
+    private fun find(index: Int): Int {
+        val keys = mKeys
+        for (i in keys.indices) {
+            if (keys[i] == index) return i
+        }
+        return -1
+    }
+
+    /**
+     * 在后台排版index及其前后各[PREFETCH_MARGIN]项中尚未排版的带样式文字
+     */
+    private fun request(index: Int) {
+        val adapter = mAdapter ?: return
+        val paint = mPaint ?: return
+        if (index < 0 || mPending.contains(index)) return
+        // 在主线程取出文字，后台线程不访问适配器
+        val indices = ArrayList<Int>()
+        val labels = ArrayList<CharSequence>()
+        val last = adapter.getItemCount() - 1
+        for (i in max(index - PREFETCH_MARGIN, 0)..min(index + PREFETCH_MARGIN, last)) {
+            if (mPending.contains(i) || find(i) >= 0) continue
+            val label = adapter.getLabel(i)
+            if (label is Spanned && label.isNotEmpty()) {
+                mPending.add(i)
+                indices.add(i)
+                labels.add(label)
+            }
+        }
+        if (labels.isEmpty()) return
+        val generation = mGeneration
+        // 排版结果引用各自的画笔，绘制时只修改它的颜色
+        val layoutPaint = TextPaint(paint)
+        sExecutor.execute {
+            val layouts = ArrayList<Layout>(labels.size)
+            for (label in labels) {
+                layouts.add(build(label, layoutPaint))
+            }
+            sMainHandler.post {
+                if (generation == mGeneration) {
+                    for (k in indices.indices) {
+                        mPending.remove(indices[k])
+                        put(indices[k], layouts[k])
+                    }
+                    onReady()
+                }
+            }
+        }
+    }
+
+    /**
+     * 放入缓存，已满时替换最久未绘制的一项
+     */
+    private fun put(index: Int, layout: Layout) {
+        var slot = 0
+        for (i in mKeys.indices) {
+            if (mKeys[i] == NO_KEY) {
+                slot = i
+                break
+            }
+            if (mStamps[i] < mStamps[slot]) {
+                slot = i
+            }
+        }
+        mKeys[slot] = index
+        mLayouts[slot] = layout
+        mStamps[slot] = ++mClock
+    }
+
+    companion object {
+        // 绘制到某一项时，前后各预取的项数
+        const val PREFETCH_MARGIN = 2
+        private const val NO_KEY = -1
+
+        private val sExecutor: ExecutorService by lazy {
+            Executors.newSingleThreadExecutor { runnable ->
+                Thread(runnable, "WheelStyledLabels").apply { isDaemon = true }
+            }
+        }
+        private val sMainHandler by lazy { Handler(Looper.getMainLooper()) }
+
+        private fun build(label: CharSequence, paint: TextPaint): Layout {
+            val text = if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.P) {
+                // 预先计算的文字与排版使用同一个画笔，排版和绘制时不再重新测量
+                PrecomputedText.create(label, PrecomputedText.Params.Builder(paint).build())
+            } else {
+                label
+            }
+            val width = ceil(Layout.getDesiredWidth(text, paint)).toInt()
+            return StaticLayout.Builder.obtain(text, 0, text.length, paint, width)
+                .setAlignment(Layout.Alignment.ALIGN_CENTER)
+                .setIncludePad(false)
+                .setMaxLines(1)
+                .build()
+        }
+    }
+}
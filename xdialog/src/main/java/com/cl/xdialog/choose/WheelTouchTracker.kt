@@ -0,0 +1,71 @@
+package com.cl.xdialog.choose
+
+import android.content.Context
+import android.view.MotionEvent
+import android.view.VelocityTracker
+import android.view.View
+import android.view.ViewConfiguration
+import kotlin.math.abs
+
+/**
+ * name：cl
+ * date：2026/10/18
+ * desc：滚轮的拖动手势
+ *
+ * 把触摸事件转换为[WheelController]的拖动、松手和惯性滑动，[WheelScroller]和[MultiWheelView]共用
+ */
+internal class WheelTouchTracker(context: Context) {
+    private val mMinimumFlingVelocity: Int
+    private val mMaximumFlingVelocity: Float
+    private var mVelocityTracker: VelocityTracker? = null
+    private var lastTouchY = 0f
+
+    init {
+        val configuration = ViewConfiguration.get(context)
+        mMinimumFlingVelocity = configuration.scaledMinimumFlingVelocity
+        mMaximumFlingVelocity = configuration.scaledMaximumFlingVelocity.toFloat()
+    }
+
+    /**
+     * @param controller 被拖动的一列，没有时只跟踪事件
+     */
+    fun onTouchEvent(view: View, event: MotionEvent, controller: WheelController?) {
+        if (mVelocityTracker == null) {
+            mVelocityTracker = VelocityTracker.obtain()
+        }
+        mVelocityTracker!!.addMovement(event)
+        when (event.action) {
+            MotionEvent.ACTION_DOWN -> {
+                lastTouchY = event.y
+                controller?.startDrag()
+                view.parent?.requestDisallowInterceptTouchEvent(true)
+            }
+
+            MotionEvent.ACTION_MOVE -> {
+                // 一个MOVE事件可能批量带有多个历史采样点，整批的位移等于最后一个采样点与上一批的差值，
+                // 整批只滚动、重绘一次，不足1像素的位移也直接计入浮点偏移量；历史采样点由VelocityTracker用于计算速度
+                val touchY = event.y
+                if (controller != null && touchY != lastTouchY && !controller.drag(lastTouchY - touchY)) {
+                    view.parent?.requestDisallowInterceptTouchEvent(false)
+                }
+                lastTouchY = touchY
+            }
+
+            MotionEvent.ACTION_UP, MotionEvent.ACTION_CANCEL -> {
+                var velocityY = 0f
+                if (event.action == MotionEvent.ACTION_UP) {
+                    mVelocityTracker!!.computeCurrentVelocity(1000, mMaximumFlingVelocity)
+                    velocityY = mVelocityTracker!!.yVelocity
+                }
+                // 速度过小时视为停止拖动，直接调整位置
+                controller?.release(
+                    if (abs(velocityY) > mMinimumFlingVelocity) -velocityY else 0f,
+                    WheelController.uptimeMillis()
+                )
+                // 当触发抬起、取消事件后，回收VelocityTracker
+                mVelocityTracker?.recycle()
+                mVelocityTracker = null
+            }
+        }
+    }
+}
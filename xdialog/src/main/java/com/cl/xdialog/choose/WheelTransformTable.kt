@@ -0,0 +1,104 @@
+package com.cl.xdialog.choose
+
+import android.graphics.Matrix
+import kotlin.math.abs
+import kotlin.math.floor
+import kotlin.math.sin
+
+/**
+ * name：cl
+ * date：2026/10/18
+ * desc：3D滚轮变换查找表
+ *
+ * 对给定的半径、中心点和焦距，每一项的变换只取决于它和中间选项的距离(整数像素)，
+ * 因此预先计算每个距离对应的位移和投影矩阵([WheelProjection])，绘制时直接查表，
+ * 小数距离在相邻两个整数距离之间线性插值。
+ * 只在半径、中心点或焦距变化时重新计算。
+ */
+class WheelTransformTable {
+    private val mValues = FloatArray(9)
+    private var mCenterX = 0f
+    private var mCenterY = 0f
+    private var mFocalDistance = 0f
+    private var mTranslateY = FloatArray(0)
+    private var mMatrices = FloatArray(0)
+
+    /**
+     * 滚轮的半径
+     */
+    var radius = -1
+        private set
+
+    /**
+     * 可见的最大距离，超过后文字和y轴垂直，不再绘制
+     */
+    var maxRange = 0
+        private set
+
+    /**
+     * 半径、中心点或焦距变化时重新计算查找表
+     */
+    fun update(radius: Int, centerX: Float, centerY: Float, focalDistance: Float) {
+        if (radius == this.radius && centerX == mCenterX && centerY == mCenterY
+            && focalDistance == mFocalDistance
+        ) return
+        this.radius = radius
+        mCenterX = centerX
+        mCenterY = centerY
+        mFocalDistance = focalDistance
+        maxRange = if (radius > 0) (radius * Math.PI / 2).toInt() else 0
+        val size = maxRange * 2 + 1
+        if (mTranslateY.size != size) {
+            mTranslateY = FloatArray(size)
+            mMatrices = FloatArray(size * 9)
+        }
+        if (radius <= 0) return
+        for (i in 0 until size) {
+            val range = i - maxRange
+            val angle = range.toDouble() / radius
+            // 滚动的距离映射到y轴的长度
+            mTranslateY[i] = (sin(angle) * radius).toFloat()
+            WheelProjection.computeMatrix(
+                angle,
+                radius.toFloat(),
+                centerX,
+                centerY,
+                focalDistance,
+                mMatrices,
+                i * 9
+            )
+        }
+    }
+
+    fun contains(range: Float): Boolean = radius > 0 && abs(range) <= maxRange
+
+    fun getTranslateY(range: Float): Float = interpolate(mTranslateY, range)
+
+    /**
+     * 将距离对应的变换矩阵写入[out]
+     */
+    fun getMatrix(range: Float, out: Matrix) {
+        val i = slot(range)
+        val fraction = range + maxRange - i
+        val from = i * 9
+        val to = next(i) * 9
+        for (k in 0 until 9) {
+            val a = mMatrices[from + k]
+            mValues[k] = a + (mMatrices[to + k] - a) * fraction
+        }
+        out.setValues(mValues)
+    }
+
+    private fun interpolate(table: FloatArray, range: Float): Float {
+        val i = slot(range)
+        val a = table[i]
+        return a + (table[next(i)] - a) * (range + maxRange - i)
+    }
+
+    /**
+     * @return 不大于该距离的整数距离在表中的下标
+     */
+    private fun slot(range: Float): Int = floor(range + maxRange).toInt().coerceIn(0, maxRange * 2)
+
+    private fun next(i: Int): Int = if (i < maxRange * 2) i + 1 else i
+}
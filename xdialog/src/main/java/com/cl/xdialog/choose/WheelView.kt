@@ -2,15 +2,22 @@ package com.cl.xdialog.choose
 
 import android.content.Context
 import android.graphics.Canvas
-import android.graphics.Color
 import android.graphics.Paint
 import android.graphics.Rect
+import android.graphics.RenderNode
+import android.graphics.Typeface
+import android.os.Build
 import android.text.TextPaint
+import android.text.TextUtils
 import android.util.AttributeSet
 import android.view.MotionEvent
 import android.view.View
+import androidx.annotation.RequiresApi
 import com.cl.xdialog.R
-import java.util.Collections
+import kotlin.math.abs
+import kotlin.math.ceil
+import kotlin.math.max
+import kotlin.math.min
 
 
 /**
@@ -18,7 +25,8 @@ import java.util.Collections
  */
 open class WheelView @JvmOverloads constructor(context: Context, attrs: AttributeSet? = null) :
     View(context, attrs) {
-    private var mCyclic: Boolean
+    // 绘制流程和3D效果与多列滚轮共用
+    internal val mRenderer = WheelRenderer()
     var mItemCount: Int
     private var mItemWidth: Int
     var mItemHeight: Int
@@ -29,78 +37,69 @@ open class WheelView @JvmOverloads constructor(context: Context, attrs: Attribut
     var mSelectedTextPaint: TextPaint
     private var mDividerPaint: Paint
     private var mHighlightPaint: Paint
+    private var mMiddleMaskPaint: Paint
+    private val mFontMetrics = Paint.FontMetrics()
+
+    /**
+     * 文字基线相对于中心线的偏移量，只在文字大小、字体变化时重新计算，避免绘制时每帧创建FontMetrics
+     */
+    protected val mTextBaseline: Int
+        get() = mRenderer.textBaseline
+    private var mTextHeight = 0
+    private var mDisplayListEnabled = true
+    private var mDisplayList: WheelDisplayList? = null
     var mScroller: WheelScroller
-    private val mEntries: MutableList<CharSequence> = ArrayList()
 
-    // 设置默认蒙版颜色,默认灰色
-    private var mMiddleMaskColor: Int = Color.parseColor("#E1E8F9")
+    // 唯一的一列：数据、是否循环、水平范围和文字缓存
+    private val mColumn: WheelColumn = object : WheelColumn({ invalidateContent() }) {
+        override val controller: WheelController
+            get() = mScroller.controller
 
+        override val itemHeight: Int
+            get() = mItemHeight
 
-    init {
-        val a = context.obtainStyledAttributes(attrs, R.styleable.X_WheelView)
-        val cyclic = a.getBoolean(R.styleable.X_WheelView_wheelCyclic, false)
-        val itemCount = a.getInt(R.styleable.X_WheelView_wheelItemCount, 9)
-        val itemWidth = a.getDimensionPixelOffset(
-            R.styleable.X_WheelView_wheelItemWidth,
-            dp(R.dimen.x_wheel_item_width)
-        )
-        val itemHeight = a.getDimensionPixelOffset(
-            R.styleable.X_WheelView_wheelItemHeight,
-            dp(R.dimen.x_wheel_item_height)
-        )
-        val textSize = a.getDimensionPixelSize(
-            R.styleable.X_WheelView_wheelTextSize,
-            sp(R.dimen.x_wheel_text_size)
-        )
-        val textColor =
-            a.getColor(R.styleable.X_WheelView_wheelTextColor, color(R.color.x_wheel_text_color))
-        val selectedTextColor = a.getColor(
-            R.styleable.X_WheelView_wheelSelectedTextColor,
-            color(R.color.x_wheel_selected_text_color)
-        )
-        val dividerColor = a.getColor(
-            R.styleable.X_WheelView_wheelDividerColor,
-            color(R.color.x_wheel_divider_color)
-        )
-        val highlightColor = a.getColor(
-            R.styleable.X_WheelView_wheelHighlightColor,
-            color(R.color.x_wheel_highlight_color)
-        )
-        //中间蒙版图层颜色
-        mMiddleMaskColor = a.getColor(
-            R.styleable.X_WheelView_wheelMiddleLayerColor,
-            mMiddleMaskColor
-        )
+        override fun drawItem(canvas: Canvas, renderer: WheelRenderer, index: Int, offset: Float) {
+            this@WheelView.drawItem(canvas, index, offset)
+        }
+    }
+    private val mColumns = listOf(mColumn)
+    private var mAdapter: WheelAdapter?
+        get() = mColumn.adapter
+        set(adapter) {
+            mColumn.adapter = adapter
+        }
 
-        val entries = a.getTextArray(R.styleable.X_WheelView_wheelEntries)
-        a.recycle()
-        mCyclic = cyclic
-        mItemCount = itemCount
-        mItemWidth = itemWidth
-        mItemHeight = itemHeight
-        mTextPaint = TextPaint()
-        mTextPaint.isAntiAlias = true
-        mTextPaint.textAlign = Paint.Align.CENTER
-        mTextPaint.textSize = textSize.toFloat()
-        mTextPaint.color = textColor
-        mSelectedTextPaint = TextPaint()
-        mSelectedTextPaint.isAntiAlias = true
-        mSelectedTextPaint.textAlign = Paint.Align.CENTER
-        mSelectedTextPaint.textSize = textSize.toFloat()
-        mSelectedTextPaint.color = selectedTextColor
-        mDividerPaint = Paint()
-        mDividerPaint.isAntiAlias = true
-        mDividerPaint.strokeWidth =
-            resources.getDimensionPixelOffset(R.dimen.x_wheel_divider_height).toFloat()
-        mDividerPaint.color = dividerColor
-        mHighlightPaint = Paint()
-        mHighlightPaint.isAntiAlias = true
-        mHighlightPaint.style = Paint.Style.FILL
-        mHighlightPaint.color = highlightColor
+    // 增量修改数据时使用的可变列表及其适配器，首次修改时从当前适配器拷贝
+    private var mEditableEntries: ArrayList<CharSequence>? = null
+    private var mEditableAdapter: WheelAdapter? = null
+
+    // 自动宽度
+    private var mAutoWidth = false
+    private val mWidthMeasurer = WheelWidthMeasurer()
+    private val mLabelAt: (Int) -> CharSequence? = { mRenderer.getDrawText(mColumn, it) }
+
+    init {
+        // 同一主题和style的属性只解析一次，画笔从缓存的原型复制
+        val style = WheelStyle.obtain(context, attrs)
+        mColumn.isCyclic = style.cyclic
+        mAutoWidth = style.autoWidth
+        mItemCount = style.itemCount
+        mItemWidth = style.itemWidth
+        mItemHeight = style.itemHeight
+        mTextPaint = style.newTextPaint()
+        mSelectedTextPaint = style.newSelectedTextPaint()
+        mDividerPaint = style.newDividerPaint()
+        mHighlightPaint = style.newHighlightPaint()
+        mMiddleMaskPaint = style.newMiddleMaskPaint()
+        mRenderer.textBaseline = style.textBaseline
+        mTextHeight = style.textHeight
+        val entries = style.entries
         if (entries != null && entries.isNotEmpty()) {
-            mEntries.addAll(listOf(*entries))
+            mAdapter = ArrayWheelAdapter(entries.asList())
         }
         mScroller = WheelScroller(context, this)
+        // 布局中的wheelEntries也可能带样式
+        mColumn.styledLabels.update(mAdapter, mTextPaint, mItemCount)
     }
 
     override fun onMeasure(widthMeasureSpec: Int, heightMeasureSpec: Int) {
@@ -123,34 +122,76 @@ open class WheelView @JvmOverloads constructor(context: Context, attrs: Attribut
     }
 
     private fun updateClipRect() {
-        val clipLeft = paddingLeft
-        val clipRight = measuredWidth - paddingRight
-        val clipTop = paddingTop
-        val clipBottom = measuredHeight - paddingBottom
-        val clipVMiddle = (clipTop + clipBottom) / 2
-        mClipRectMiddle = Rect()
-        mClipRectMiddle!!.left = clipLeft
-        mClipRectMiddle!!.right = clipRight
-        mClipRectMiddle!!.top = clipVMiddle - mItemHeight / 2
-        mClipRectMiddle!!.bottom = clipVMiddle + mItemHeight / 2
-        mClipRectTop = Rect()
-        mClipRectTop!!.left = clipLeft
-        mClipRectTop!!.right = clipRight
-        mClipRectTop!!.top = clipTop
-        mClipRectTop!!.bottom = clipVMiddle - mItemHeight / 2
-        mClipRectBottom = Rect()
-        mClipRectBottom!!.left = clipLeft
-        mClipRectBottom!!.right = clipRight
-        mClipRectBottom!!.top = clipVMiddle + mItemHeight / 2
-        mClipRectBottom!!.bottom = clipBottom
-    }
-
-    private fun dp(resId: Int): Int {
-        return resources.getDimensionPixelOffset(resId)
-    }
-
-    private fun sp(resId: Int): Int {
-        return resources.getDimensionPixelSize(resId)
+        syncRenderer()
+        mRenderer.setBounds(
+            paddingLeft,
+            paddingTop,
+            measuredWidth - paddingRight,
+            measuredHeight - paddingBottom
+        )
+        mClipRectTop = mRenderer.clipRectTop
+        mClipRectMiddle = mRenderer.clipRectMiddle
+        mClipRectBottom = mRenderer.clipRectBottom
+        mColumn.left = mRenderer.clipRectMiddle.left
+        mColumn.right = mRenderer.clipRectMiddle.right
+        configureLabelAtlas()
+        invalidateDisplayList()
+    }
+
+    /**
+     * 画笔、项高和项数是公开字段，可能被直接修改，测量和绘制前同步给[mRenderer]
+     */
+    private fun syncRenderer() {
+        mRenderer.textPaint = mTextPaint
+        mRenderer.selectedTextPaint = mSelectedTextPaint
+        mRenderer.itemHeight = mItemHeight
+        mRenderer.itemCount = mItemCount
+    }
+
+    /**
+     * 样式或数据变化后重绘，已录制的RenderNode同时失效
+     */
+    private fun invalidateContent() {
+        invalidateDisplayList()
+        invalidate()
+    }
+
+    private fun invalidateDisplayList() {
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.Q) {
+            mDisplayList?.invalidate()
+        }
+    }
+
+    /**
+     * 文字、字号或字体变化后重新计算自动宽度，带样式的文字在绘制到时重新排版
+     */
+    private fun onLabelsChanged() {
+        mWidthMeasurer.invalidate()
+        mColumn.styledLabels.update(mAdapter, mTextPaint, mItemCount)
+        if (mAutoWidth) {
+            requestLayout()
+        }
+    }
+
+    /**
+     * 文字大小、字体变化后重新计算文字基线
+     */
+    private fun updateTextMetrics() {
+        mTextPaint.getFontMetrics(mFontMetrics)
+        mRenderer.textBaseline = ((mFontMetrics.top + mFontMetrics.bottom) / 2).toInt()
+        mTextHeight = ceil(mFontMetrics.bottom - mFontMetrics.top).toInt()
+        configureLabelAtlas()
+    }
+
+    private fun configureLabelAtlas() {
+        val atlas = mColumn.labelAtlas ?: return
+        val clipRect = mClipRectMiddle ?: return
+        atlas.configure(
+            clipRect.width(),
+            max(mItemHeight, mTextHeight),
+            mTextPaint.textSize,
+            mTextPaint.typeface
+        )
     }
 
     fun color(resId: Int): Int {
@@ -163,7 +204,12 @@ open class WheelView @JvmOverloads constructor(context: Context, attrs: Attribut
          */
         get() {
             val paddingHorizontal = paddingLeft + paddingRight
-            return paddingHorizontal + mItemWidth
+            if (!mAutoWidth) return paddingHorizontal + mItemWidth
+            // 测量结果有缓存，文字和数据不变时不再测量
+            val labelWidth = mWidthMeasurer.measure(mTextPaint, itemSize, widestLabelHint, mLabelAt)
+            // 左右各留出半个字的空白，选中文字的水平偏移也计算在内
+            syncRenderer()
+            return paddingHorizontal + ceil(labelWidth + textSize + abs(mRenderer.selectedOffsetX) * 2).toInt()
         }
     open val prefHeight: Int
         /**
@@ -175,6 +221,12 @@ open class WheelView @JvmOverloads constructor(context: Context, attrs: Attribut
         }
 
     override fun onDraw(canvas: Canvas) {
+        if (mDisplayListEnabled && Build.VERSION.SDK_INT >= Build.VERSION_CODES.Q
+            && canvas.isHardwareAccelerated
+        ) {
+            drawWithDisplayList(canvas)
+            return
+        }
         // 新增绘制中间蒙版的方法
         drawMiddleMask(canvas)
         drawHighlight(canvas)
@@ -182,148 +234,143 @@ open class WheelView @JvmOverloads constructor(context: Context, attrs: Attribut
         drawDivider(canvas)
     }
 
-    private fun drawMiddleMask(canvas: Canvas) {
-        mClipRectMiddle?.let {
-            canvas.drawRect(it, Paint().apply {
-                isAntiAlias = true
-                color = mMiddleMaskColor
-            })
+    @RequiresApi(Build.VERSION_CODES.Q)
+    private fun drawWithDisplayList(canvas: Canvas) {
+        val displayList = mDisplayList ?: WheelDisplayList().also { mDisplayList = it }
+        val width = width
+        val height = height
+        if (displayList.isChromeDirty(width, height)) {
+            displayList.underNode.setPosition(0, 0, width, height)
+            var recordingCanvas: Canvas = displayList.underNode.beginRecording(width, height)
+            drawMiddleMask(recordingCanvas)
+            drawHighlight(recordingCanvas)
+            displayList.underNode.endRecording()
+            displayList.overNode.setPosition(0, 0, width, height)
+            recordingCanvas = displayList.overNode.beginRecording(width, height)
+            drawDivider(recordingCanvas)
+            displayList.overNode.endRecording()
+            displayList.setChromeRecorded(width, height)
         }
+        canvas.drawRenderNode(displayList.underNode)
+        syncRenderer()
+        // 低质量帧和逐项裁剪(子类可能重写drawItem)与软件绘制走同一流程
+        if (isItemDisplayListSupported && mRenderer.isTwoPassClip && !mRenderer.isLowQuality(mColumn)) {
+            drawItemsWithDisplayList(canvas, displayList, width, height)
+        } else {
+            drawItems(canvas)
+        }
+        canvas.drawRenderNode(displayList.overNode)
     }
 
-    private fun drawItems(canvas: Canvas) {
+    @RequiresApi(Build.VERSION_CODES.Q)
+    private fun drawItemsWithDisplayList(
+        canvas: Canvas,
+        displayList: WheelDisplayList,
+        width: Int,
+        height: Int
+    ) {
+        syncRenderer()
         val index = mScroller.itemIndex
         val offset = mScroller.itemOffset
-        val hf = (mItemCount + 1) / 2
-        val minIdx: Int
-        val maxIdx: Int
-        if (offset < 0) {
-            minIdx = index - hf - 1
-            maxIdx = index + hf
-        } else if (offset > 0) {
-            minIdx = index - hf
-            maxIdx = index + hf + 1
-        } else {
-            minIdx = index - hf
-            maxIdx = index + hf
+        if (displayList.isItemsDirty(width, height, index)) {
+            // 以偏移量为0录制，前后各多录制一项以覆盖滚动中的偏移
+            mRenderer.computeVisibleWindow(mColumn, index, 0f, false)
+            val visibleStart = mRenderer.visibleStart
+            val visibleEnd = mRenderer.visibleEnd
+            val minIdx = if (isCyclic) visibleStart - 1 else max(visibleStart - 1, 0)
+            val maxIdx = if (isCyclic) visibleEnd + 1 else min(visibleEnd + 1, itemSize)
+            // 录制的内容会被缓存，不能引用之后还会改变的图集位图
+            mRenderer.isLabelAtlasBypassed = true
+            recordItems(displayList.normalItemsNode, width, height, index, minIdx, maxIdx, mTextPaint)
+            recordItems(
+                displayList.selectedItemsNode, width, height, index, minIdx, maxIdx, mSelectedTextPaint
+            )
+            mRenderer.isLabelAtlasBypassed = false
+            displayList.setItemsRecorded(index)
         }
+        mRenderer.computeVisibleWindow(mColumn, index, offset, false)
+        displayList.normalItemsNode.setTranslationY(-offset)
+        displayList.selectedItemsNode.setTranslationY(-offset)
+        canvas.save()
+        mRenderer.clipOutsideMiddle(canvas)
+        canvas.drawRenderNode(displayList.normalItemsNode)
+        canvas.restore()
+        canvas.save()
+        canvas.clipRect(mClipRectMiddle!!)
+        canvas.drawRenderNode(displayList.selectedItemsNode)
+        canvas.restore()
+    }
+
+    @RequiresApi(Build.VERSION_CODES.Q)
+    private fun recordItems(
+        node: RenderNode,
+        width: Int,
+        height: Int,
+        index: Int,
+        minIdx: Int,
+        maxIdx: Int,
+        paint: TextPaint
+    ) {
+        node.setPosition(0, 0, width, height)
+        val recordingCanvas = node.beginRecording(width, height)
         for (i in minIdx until maxIdx) {
-            drawItem(canvas, i, offset)
-        }
-    }
-
-    protected open fun drawItem(canvas: Canvas, index: Int, offset: Int) {
-        val text = getCharSequence(index) ?: return
-        val centerX = mClipRectMiddle!!.centerX()
-        val centerY = mClipRectMiddle!!.centerY()
-
-        // 和中间选项的距离
-        val range = (index - mScroller.itemIndex) * mItemHeight - offset
-        val fontMetrics = mTextPaint.fontMetrics
-        val baseline = ((fontMetrics.top + fontMetrics.bottom) / 2).toInt()
-
-        // 绘制与下分界线相交的文字
-        if (range in 1 until mItemHeight) {
-            canvas.save()
-            canvas.clipRect(mClipRectMiddle!!)
-            canvas.drawText(
-                text,
-                0,
-                text.length,
-                centerX.toFloat(),
-                (centerY + range - baseline).toFloat(),
-                mSelectedTextPaint
-            )
-            canvas.restore()
-            canvas.save()
-            canvas.clipRect(mClipRectBottom!!)
-            canvas.drawText(
-                text,
-                0,
-                text.length,
-                centerX.toFloat(),
-                (centerY + range - baseline).toFloat(),
-                mTextPaint
-            )
-            canvas.restore()
-        } else if (range >= mItemHeight) {
-            canvas.save()
-            canvas.clipRect(mClipRectBottom!!)
-            canvas.drawText(
-                text,
-                0,
-                text.length,
-                centerX.toFloat(),
-                (centerY + range - baseline).toFloat(),
-                mTextPaint
-            )
-            canvas.restore()
-        } else if (range < 0 && range > -mItemHeight) {
-            canvas.save()
-            canvas.clipRect(mClipRectMiddle!!)
-            canvas.drawText(
-                text,
-                0,
-                text.length,
-                centerX.toFloat(),
-                (centerY + range - baseline).toFloat(),
-                mSelectedTextPaint
-            )
-            canvas.restore()
-            canvas.save()
-            canvas.clipRect(mClipRectTop!!)
-            canvas.drawText(
-                text,
-                0,
-                text.length,
-                centerX.toFloat(),
-                (centerY + range - baseline).toFloat(),
-                mTextPaint
-            )
-            canvas.restore()
-        } else if (range <= -mItemHeight) {
-            canvas.save()
-            canvas.clipRect(mClipRectTop!!)
-            canvas.drawText(
-                text,
-                0,
-                text.length,
-                centerX.toFloat(),
-                (centerY + range - baseline).toFloat(),
-                mTextPaint
-            )
-            canvas.restore()
-        } else {
-            canvas.save()
-            canvas.clipRect(mClipRectMiddle!!)
-            canvas.drawText(
-                text,
-                0,
-                text.length,
-                centerX.toFloat(),
-                (centerY + range - baseline).toFloat(),
-                mSelectedTextPaint
-            )
-            canvas.restore()
+            val text = mRenderer.getDrawText(mColumn, i) ?: continue
+            mRenderer.drawItemText(recordingCanvas, mColumn, i, text, ((i - index) * mItemHeight).toFloat(), paint)
         }
+        node.endRecording()
     }
 
-    fun getCharSequence(index: Int): CharSequence? {
-        val size = mEntries.size
-        if (size == 0) return null
-        var text: CharSequence? = null
-        if (isCyclic) {
-            var i = index % size
-            if (i < 0) {
-                i += size
-            }
-            text = mEntries[i]
-        } else {
-            if (index in 0 until size) {
-                text = mEntries[index]
-            }
+    /**
+     * 是否支持将文字录制为随滚动平移的RenderNode，文字形状随位置变化的子类需返回false
+     */
+    protected open val isItemDisplayListSupported: Boolean
+        get() = true
+
+    private fun drawMiddleMask(canvas: Canvas) {
+        mClipRectMiddle?.let {
+            canvas.drawRect(it, mMiddleMaskPaint)
         }
-        return text
+    }
+
+    /**
+     * 绘制所有可见的文字
+     */
+    private fun drawItems(canvas: Canvas) {
+        syncRenderer()
+        mRenderer.drawItems(canvas, mColumns)
+    }
+
+    /**
+     * 关闭两遍裁剪([isTwoPassClipEnabled])时逐项绘制一项，每项最多两次save/clipRect/restore，
+     * 子类可以在前后加入单项的效果
+     *
+     * @param offset 中间选项的偏移量
+     */
+    protected open fun drawItem(canvas: Canvas, index: Int, offset: Float) {
+        mRenderer.drawItem(canvas, mColumn, index, offset)
+    }
+
+    /**
+     * 最近一帧绘制的第一个位置
+     */
+    val visibleStartIndex: Int
+        get() = mRenderer.visibleStart
+
+    /**
+     * 最近一帧绘制的最后一个位置+1
+     */
+    val visibleEndIndex: Int
+        get() = mRenderer.visibleEnd
+
+    /**
+     * 最近一帧绘制的项数
+     */
+    val visibleItemCount: Int
+        get() = mRenderer.visibleEnd - mRenderer.visibleStart
+
+    fun getCharSequence(index: Int): CharSequence? {
+        val i = mColumn.normalizeIndex(index)
+        return if (i < 0) null else mAdapter!!.getLabel(i)
     }
 
     private fun drawHighlight(canvas: Canvas) {
@@ -350,19 +397,87 @@ open class WheelView @JvmOverloads constructor(context: Context, attrs: Attribut
         )
     }
 
-    override fun onTouchEvent(event: MotionEvent): Boolean {
-        return mScroller.onTouchEvent(event)
+    override fun onDetachedFromWindow() {
+        super.onDetachedFromWindow()
+        mScroller.stop()
+        // 图集和RenderNode在下次绘制时重新创建
+        mColumn.labelAtlas?.release()
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.Q) {
+            mDisplayList?.release()
+        }
     }
 
-    override fun computeScroll() {
-        mScroller.computeScroll()
+    override fun onTouchEvent(event: MotionEvent): Boolean {
+        return mScroller.onTouchEvent(event)
     }
 
     var isCyclic: Boolean
-        get() = mCyclic
+        get() = mColumn.isCyclic
         set(cyclic) {
-            mCyclic = cyclic
+            mColumn.isCyclic = cyclic
             mScroller.reset()
+            invalidateContent()
+        }
+
+    /**
+     * 是否分两遍绘制：先在裁掉中间区域的画布上绘制全部未选中文字，再在中间区域绘制选中文字，
+     * 每帧只需两次裁剪。关闭后逐项裁剪绘制，效果相同
+     */
+    var isTwoPassClipEnabled: Boolean
+        get() = mRenderer.isTwoPassClip
+        set(enabled) {
+            mRenderer.isTwoPassClip = enabled
+            invalidate()
+        }
+
+    /**
+     * 是否启用自适应绘制质量：惯性滑动速度超过[adaptiveQualityThreshold]时改为平面、无抗锯齿的简单绘制，
+     * 速度降低或停止后恢复完整效果，低端设备快速滑动时可以保持帧率
+     */
+    var isAdaptiveQualityEnabled: Boolean
+        get() = mRenderer.isAdaptiveQuality
+        set(enabled) {
+            mRenderer.isAdaptiveQuality = enabled
+            invalidate()
+        }
+
+    /**
+     * 切换为简单绘制的速度，单位为每秒经过的项数
+     */
+    var adaptiveQualityThreshold: Float
+        get() = mRenderer.adaptiveQualityThreshold
+        set(threshold) {
+            mRenderer.adaptiveQualityThreshold = threshold
+        }
+
+    /**
+     * Android 10及以上硬件加速时，是否将蒙版、分割线和文字录制为RenderNode缓存，
+     * 滚动时只修改文字节点的位移。低版本或关闭后按原方式逐帧绘制
+     */
+    var isDisplayListCacheEnabled: Boolean
+        get() = mDisplayListEnabled
+        set(enabled) {
+            mDisplayListEnabled = enabled
+            invalidateContent()
+        }
+
+    /**
+     * 是否启用文字位图缓存，只在软件绘制(关闭硬件加速或绘制到Bitmap)时生效：每项文字只光栅化一次，
+     * 滚动时只需贴图。硬件加速的画布(默认情况)上不起任何作用，仍直接绘制文字，也不会创建图集位图，
+     * 只在View设置了LAYER_TYPE_SOFTWARE或截图到Bitmap时才值得开启。位图只保留文字的透明度，带颜色样式的文字请勿启用
+     */
+    var isRenderCacheEnabled: Boolean
+        get() = mColumn.labelAtlas != null
+        set(enabled) {
+            if (enabled == isRenderCacheEnabled) return
+            if (enabled) {
+                // 同时可见的项数再留出余量
+                mColumn.labelAtlas = WheelLabelAtlas(mItemCount + 4)
+                configureLabelAtlas()
+            } else {
+                mColumn.labelAtlas?.release()
+                mColumn.labelAtlas = null
+            }
             invalidate()
         }
     val textSize: Float
@@ -374,15 +489,50 @@ open class WheelView @JvmOverloads constructor(context: Context, attrs: Attribut
     fun setTextSize(textSize: Int) {
         mTextPaint.textSize = textSize.toFloat()
         mSelectedTextPaint.textSize = textSize.toFloat()
-        invalidate()
+        updateTextMetrics()
+        onLabelsChanged()
+        invalidateContent()
     }
 
+    /**
+     * 设置文字字体
+     */
+    var typeface: Typeface?
+        get() = mTextPaint.typeface
+        set(typeface) {
+            mTextPaint.typeface = typeface
+            mSelectedTextPaint.typeface = typeface
+            updateTextMetrics()
+            onLabelsChanged()
+            invalidateContent()
+        }
+
+    /**
+     * 是否按最宽的文字自动计算宽度，关闭时使用wheelItemWidth
+     */
+    var isAutoWidth: Boolean
+        get() = mAutoWidth
+        set(autoWidth) {
+            if (mAutoWidth == autoWidth) return
+            mAutoWidth = autoWidth
+            requestLayout()
+        }
+
+    /**
+     * 最宽文字的提示，自动宽度在数据很多时只抽样测量，给出最宽的文字可以保证不被截断
+     */
+    var widestLabelHint: CharSequence? = null
+        set(hint) {
+            field = hint
+            onLabelsChanged()
+        }
+
     /**
      * 设置中间蒙版颜色
      */
     fun setMiddleMaskColor(color: Int) {
-        mMiddleMaskColor = color
-        invalidate()
+        mMiddleMaskPaint.color = color
+        invalidateContent()
     }
 
     /**
@@ -390,7 +540,7 @@ open class WheelView @JvmOverloads constructor(context: Context, attrs: Attribut
      */
     fun setDividerColor(dividerColor: Int) {
         mDividerPaint.color = dividerColor
-        invalidate()
+        invalidateContent()
     }
 
     /**
@@ -398,7 +548,7 @@ open class WheelView @JvmOverloads constructor(context: Context, attrs: Attribut
      */
     fun setNoTextColor(noTextColor: Int) {
         mTextPaint.color = noTextColor
-        invalidate()
+        invalidateContent()
     }
 
     /**
@@ -406,27 +556,27 @@ open class WheelView @JvmOverloads constructor(context: Context, attrs: Attribut
      */
     fun setWhenSelectedTextColor(textColor: Int) {
         mSelectedTextPaint.color = textColor
-        invalidate()
+        invalidateContent()
     }
 
     var textColor: Int
         get() = mTextPaint.color
         set(color) {
             mTextPaint.color = color
-            invalidate()
+            invalidateContent()
         }
 
     var selectedTextColor: Int
         get() = mSelectedTextPaint.color
         set(color) {
             mSelectedTextPaint.color = color
-            invalidate()
+            invalidateContent()
         }
     val itemSize: Int
-        get() = mEntries.size
+        get() = mAdapter?.getItemCount() ?: 0
 
     fun getItem(index: Int): CharSequence? {
-        return if (index < 0 || index >= mEntries.size) null else mEntries[index]
+        return if (index < 0 || index >= itemSize) null else mAdapter!!.getLabel(index)
     }
 
     val currentItem: CharSequence?
@@ -441,27 +591,213 @@ open class WheelView @JvmOverloads constructor(context: Context, attrs: Attribut
         mScroller.setCurrentIndex(index, animated)
     }
 
-    fun setEntries(vararg entries: CharSequence) {
-        mEntries.clear()
-        if (entries.isNotEmpty()) {
-            Collections.addAll(mEntries, *entries)
+    /**
+     * 设置数据适配器，文字在显示时才向适配器获取
+     */
+    var adapter: WheelAdapter?
+        get() = mAdapter
+        set(adapter) {
+            mAdapter = adapter
+            mColumn.labelAtlas?.clear()
+            mScroller.reset()
+            onLabelsChanged()
+            invalidateContent()
         }
-        mScroller.reset()
-        invalidate()
+
+    /**
+     * 设置数据，可以是带样式的文字([android.text.Spanned])，在后台排版完成前按纯文字显示
+     */
+    fun setEntries(vararg entries: CharSequence) {
+        adapter = if (entries.isEmpty()) null else ArrayWheelAdapter(entries.asList())
     }
 
+    /**
+     * 设置数据，List直接被引用而不再拷贝，设置后请勿再修改该List
+     */
     fun setEntries(entries: Collection<CharSequence>?) {
-        mEntries.clear()
-        if (!entries.isNullOrEmpty()) {
-            mEntries.addAll(entries)
+        adapter = if (entries.isNullOrEmpty()) {
+            null
+        } else {
+            ArrayWheelAdapter(entries as? List<CharSequence> ?: entries.toList())
         }
-        mScroller.reset()
-        invalidate()
     }
 
+    /**
+     * 以紧凑方式存储数据：全部文字拷贝到同一个字符数组中，每项只额外占用4字节，
+     * 适合十万项以上、又必须一次性给出全部文字的滚轮，设置后entries可以释放
+     */
+    fun setPackedEntries(entries: Collection<CharSequence>?) {
+        adapter = if (entries.isNullOrEmpty()) null else PackedWheelAdapter.of(entries)
+    }
+
+    /**
+     * 替换适配器并保持当前的位置和偏移量，不会重置到第一项；
+     * 只有当前位置超出新的数据范围时才移到最后一项并通知一次
+     */
+    fun swapAdapter(adapter: WheelAdapter?) {
+        mAdapter = adapter
+        notifyDataSetChanged()
+    }
+
+    /**
+     * 适配器的数据发生变化后调用，保持当前的位置和偏移量
+     */
+    fun notifyDataSetChanged() {
+        mColumn.labelAtlas?.clear()
+        mScroller.onDataSetChanged()
+        onLabelsChanged()
+        invalidateContent()
+    }
+
+    /**
+     * 在末尾追加数据，保持当前位置。
+     * 增量修改只支持[setEntries]设置的列表数据，[adapter]、[setPackedEntries]设置的数据修改后请调用
+     * [swapAdapter]或[notifyDataSetChanged]，否则抛出IllegalStateException
+     */
+    fun appendEntries(vararg entries: CharSequence) {
+        appendEntries(entries.asList())
+    }
+
+    fun appendEntries(entries: Collection<CharSequence>) {
+        if (entries.isEmpty()) return
+        editableEntries().addAll(entries)
+        notifyDataSetChanged()
+    }
+
+    /**
+     * 删除末尾的count项，当前位置被删除时移到新的最后一项
+     */
+    fun removeLastEntries(count: Int) {
+        if (count <= 0 || itemSize == 0) return
+        val list = editableEntries()
+        list.subList(max(list.size - count, 0), list.size).clear()
+        notifyDataSetChanged()
+    }
+
+    /**
+     * 从start开始替换数据，超出末尾的部分追加到末尾，保持当前位置
+     */
+    fun replaceEntries(start: Int, vararg entries: CharSequence) {
+        replaceEntries(start, entries.asList())
+    }
+
+    fun replaceEntries(start: Int, entries: Collection<CharSequence>) {
+        require(start in 0..itemSize) { "start: $start, size: $itemSize" }
+        if (entries.isEmpty()) return
+        val list = editableEntries()
+        var i = start
+        for (entry in entries) {
+            if (i < list.size) {
+                list[i] = entry
+            } else {
+                list.add(entry)
+            }
+            i++
+        }
+        notifyDataSetChanged()
+    }
+
+    /**
+     * 可以增量修改的数据列表，当前适配器不是由该列表创建时先拷贝一份文字的引用。
+     * 只支持列表数据([ArrayWheelAdapter])，按需生成或紧凑存储的数据整体拷贝后就失去了原来的优势
+     */
+    private fun editableEntries(): ArrayList<CharSequence> {
+        val entries = mEditableEntries
+        if (entries != null && mAdapter === mEditableAdapter) return entries
+        val adapter = mAdapter
+        check(adapter == null || adapter is ArrayWheelAdapter) {
+            "${adapter!!.javaClass.simpleName} is not list-backed, update it and call notifyDataSetChanged()"
+        }
+        val size = itemSize
+        val list = ArrayList<CharSequence>(size)
+        for (i in 0 until size) {
+            list.add(adapter!!.getLabel(i) ?: "")
+        }
+        mEditableEntries = list
+        mEditableAdapter = ArrayWheelAdapter(list)
+        mAdapter = mEditableAdapter
+        return list
+    }
+
+    /**
+     * @return 文字等于item的第一项的位置，没有时返回-1
+     */
+    fun indexOfItem(item: CharSequence): Int {
+        val adapter = mAdapter ?: return -1
+        if (adapter is PackedWheelAdapter) return adapter.indexOf(item)
+        for (i in 0 until adapter.getItemCount()) {
+            if (TextUtils.equals(adapter.getLabel(i), item)) return i
+        }
+        return -1
+    }
+
+    /**
+     * 滚动到文字等于item的一项
+     *
+     * @return 没有找到该项时返回false
+     */
+    fun setCurrentItem(item: CharSequence, animated: Boolean): Boolean {
+        val index = indexOfItem(item)
+        if (index < 0) return false
+        setCurrentIndex(index, animated)
+        return true
+    }
+
+    /**
+     * 惯性滑动是否直接停在对齐的位置上
+     */
+    var isSnapFlingEnabled: Boolean
+        get() = mScroller.isSnapFling
+        set(enabled) {
+            mScroller.isSnapFling = enabled
+        }
+
+    /**
+     * 不循环的滚轮惯性滑动越过边界的最大距离(像素)，大于0时越界后回弹
+     */
+    var overscrollDistance: Int
+        get() = mScroller.overscrollDistance
+        set(distance) {
+            mScroller.overscrollDistance = distance
+        }
+
+    /**
+     * [setCurrentIndex]动画切换时最多滚动经过的项数，距离更远时先跳到目标附近，
+     * 途经的位置不会通知[onWheelChangedListener]
+     */
+    var maxAnimatedItems: Int
+        get() = mScroller.maxAnimatedItems
+        set(count) {
+            mScroller.maxAnimatedItems = count
+        }
+
     var onWheelChangedListener: OnWheelChangedListener?
         get() = mScroller.onWheelChangedListener
         set(onWheelChangedListener) {
             mScroller.onWheelChangedListener = onWheelChangedListener
         }
+
+    /**
+     * 位置变化的通知方式，默认每经过一个位置通知一次，
+     * 可选每帧最多一次([WheelScroller.DISPATCH_PER_FRAME])或停止后一次([WheelScroller.DISPATCH_SETTLED])
+     */
+    var wheelDispatchMode: Int
+        get() = mScroller.dispatchMode
+        set(mode) {
+            mScroller.dispatchMode = mode
+        }
+
+    var onWheelScrollListener: OnWheelScrollListener?
+        get() = mScroller.onWheelScrollListener
+        set(onWheelScrollListener) {
+            mScroller.onWheelScrollListener = onWheelScrollListener
+        }
+
+    val scrollState: Int
+        get() = mScroller.scrollState
+
+    companion object {
+        // 默认每秒经过超过25项时切换为简单绘制
+        const val DEFAULT_ADAPTIVE_QUALITY_THRESHOLD = 25f
+    }
 }
@@ -0,0 +1,85 @@
+package com.cl.xdialog.choose
+
+import android.graphics.Paint
+import android.graphics.Typeface
+import kotlin.math.max
+
+/**
+ * name：cl
+ * date：2026/10/18
+ * desc：估算滚轮中最宽文字的宽度
+ *
+ * 数据较少时逐项测量；数据很多时只测量开头、结尾和均匀抽样的若干项，再加上调用方给出的最宽文字提示，
+ * 测量次数与数据量无关。结果按画笔的字号、字体等配置缓存，配置和数据不变时直接返回。
+ */
+internal class WheelWidthMeasurer {
+    private var mTextSize = -1f
+    private var mTypeface: Typeface? = null
+    private var mTextScaleX = 1f
+    private var mLetterSpacing = 0f
+    private var mFakeBold = false
+    private var isValid = false
+    private var mWidth = 0f
+
+    /**
+     * 数据或提示变化后调用
+     */
+    fun invalidate() {
+        isValid = false
+    }
+
+    /**
+     * @param itemCount 数据总数
+     * @param hint 调用方给出的最宽文字，可以为null
+     * @param labelAt 获取第i项文字，返回的对象只在当次调用中使用
+     * @return 最宽文字的宽度(像素)
+     */
+    fun measure(
+        paint: Paint,
+        itemCount: Int,
+        hint: CharSequence?,
+        labelAt: (Int) -> CharSequence?
+    ): Float {
+        if (isValid && mTextSize == paint.textSize && mTypeface == paint.typeface
+            && mTextScaleX == paint.textScaleX && mLetterSpacing == paint.letterSpacing
+            && mFakeBold == paint.isFakeBoldText
+        ) return mWidth
+        var width = if (hint == null) 0f else paint.measureText(hint, 0, hint.length)
+        if (itemCount <= FULL_MEASURE_LIMIT) {
+            for (i in 0 until itemCount) {
+                width = max(width, measureAt(paint, i, labelAt))
+            }
+        } else {
+            // 开头和结尾的项通常最短或最长，例如数字区间
+            for (i in 0 until EDGE_SAMPLES) {
+                width = max(width, measureAt(paint, i, labelAt))
+                width = max(width, measureAt(paint, itemCount - 1 - i, labelAt))
+            }
+            // 其余位置均匀抽样
+            val step = (itemCount - EDGE_SAMPLES * 2) / STRIDE_SAMPLES
+            for (k in 0 until STRIDE_SAMPLES) {
+                width = max(width, measureAt(paint, EDGE_SAMPLES + k * step, labelAt))
+            }
+        }
+        mTextSize = paint.textSize
+        mTypeface = paint.typeface
+        mTextScaleX = paint.textScaleX
+        mLetterSpacing = paint.letterSpacing
+        mFakeBold = paint.isFakeBoldText
+        mWidth = width
+        isValid = true
+        return width
+    }
+
+    private fun measureAt(paint: Paint, index: Int, labelAt: (Int) -> CharSequence?): Float {
+        val text = labelAt(index) ?: return 0f
+        return paint.measureText(text, 0, text.length)
+    }
+
+    companion object {
+        // 不超过该数量时逐项测量
+        const val FULL_MEASURE_LIMIT = 256
+        private const val EDGE_SAMPLES = 32
+        private const val STRIDE_SAMPLES = 128
+    }
+}
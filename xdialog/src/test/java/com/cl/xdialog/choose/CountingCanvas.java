@@ -0,0 +1,178 @@
+package com.cl.xdialog.choose;
+
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Matrix;
+import android.graphics.Paint;
+import android.graphics.Rect;
+import android.graphics.RectF;
+import android.graphics.Region;
+import android.graphics.RenderNode;
+
+/**
+ * 只统计绘制操作、不实际绘制的画布，绘制过程中不会产生任何对象
+ */
+public class CountingCanvas extends Canvas {
+    public int saveCount;
+    public int clipCount;
+    public int textCount;
+    // 关闭抗锯齿的画笔绘制的文字数
+    public int aliasedTextCount;
+    // 画笔不是完全不透明时绘制的文字数
+    public int translucentTextCount;
+    public int layerCount;
+    public int bitmapCount;
+    public int rectCount;
+    public int lineCount;
+    public int renderNodeCount;
+    // 为true时按硬件加速的画布绘制，API 29及以上走RenderNode缓存
+    public boolean hardwareAccelerated;
+    private int mDepth = 1;
+
+    public void reset() {
+        saveCount = 0;
+        clipCount = 0;
+        textCount = 0;
+        aliasedTextCount = 0;
+        translucentTextCount = 0;
+        layerCount = 0;
+        bitmapCount = 0;
+        rectCount = 0;
+        lineCount = 0;
+        renderNodeCount = 0;
+        mDepth = 1;
+    }
+
+    @Override
+    public boolean isHardwareAccelerated() {
+        return hardwareAccelerated;
+    }
+
+    @Override
+    public int save() {
+        saveCount++;
+        return mDepth++;
+    }
+
+    @Override
+    public int saveLayer(RectF bounds, Paint paint) {
+        saveCount++;
+        layerCount++;
+        return mDepth++;
+    }
+
+    @Override
+    public void restore() {
+        mDepth--;
+    }
+
+    @Override
+    public void restoreToCount(int saveCount) {
+        mDepth = saveCount;
+    }
+
+    @Override
+    public boolean clipRect(Rect rect) {
+        clipCount++;
+        return true;
+    }
+
+    @Override
+    public boolean clipRect(RectF rect) {
+        clipCount++;
+        return true;
+    }
+
+    @Override
+    public boolean clipRect(int left, int top, int right, int bottom) {
+        clipCount++;
+        return true;
+    }
+
+    @Override
+    public boolean clipRect(float left, float top, float right, float bottom) {
+        clipCount++;
+        return true;
+    }
+
+    @SuppressWarnings("deprecation")
+    @Override
+    public boolean clipRect(Rect rect, Region.Op op) {
+        clipCount++;
+        return true;
+    }
+
+    @Override
+    public boolean clipOutRect(Rect rect) {
+        clipCount++;
+        return true;
+    }
+
+    @Override
+    public void translate(float dx, float dy) {
+    }
+
+    @Override
+    public void concat(Matrix matrix) {
+    }
+
+    @Override
+    public void drawRect(Rect rect, Paint paint) {
+        rectCount++;
+    }
+
+    @Override
+    public void drawRect(RectF rect, Paint paint) {
+        rectCount++;
+    }
+
+    @Override
+    public void drawLine(float startX, float startY, float stopX, float stopY, Paint paint) {
+        lineCount++;
+    }
+
+    @Override
+    public void drawText(char[] text, int index, int count, float x, float y, Paint paint) {
+        countText(paint);
+    }
+
+    @Override
+    public void drawText(CharSequence text, int start, int end, float x, float y, Paint paint) {
+        countText(paint);
+    }
+
+    @Override
+    public void drawText(String text, float x, float y, Paint paint) {
+        countText(paint);
+    }
+
+    @Override
+    public void drawText(String text, int start, int end, float x, float y, Paint paint) {
+        countText(paint);
+    }
+
+    @Override
+    public void drawBitmap(Bitmap bitmap, Rect src, RectF dst, Paint paint) {
+        bitmapCount++;
+    }
+
+    @Override
+    public void drawBitmap(Bitmap bitmap, Rect src, Rect dst, Paint paint) {
+        bitmapCount++;
+    }
+
+    @Override
+    public void drawRenderNode(RenderNode renderNode) {
+        renderNodeCount++;
+    }
+
+    private void countText(Paint paint) {
+        textCount++;
+        if (!paint.isAntiAlias()) {
+            aliasedTextCount++;
+        }
+        if (paint.getAlpha() != 255) {
+            translucentTextCount++;
+        }
+    }
+}
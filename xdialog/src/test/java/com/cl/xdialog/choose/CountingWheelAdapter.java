@@ -0,0 +1,24 @@
+package com.cl.xdialog.choose;
+
+/**
+ * 按需生成文字并统计取文字次数的适配器
+ */
+public class CountingWheelAdapter implements WheelAdapter {
+    public int labelCount;
+    private final int mItemCount;
+
+    public CountingWheelAdapter(int itemCount) {
+        mItemCount = itemCount;
+    }
+
+    @Override
+    public int getItemCount() {
+        return mItemCount;
+    }
+
+    @Override
+    public CharSequence getLabel(int index) {
+        labelCount++;
+        return "item " + index;
+    }
+}
@@ -0,0 +1,59 @@
+package com.cl.xdialog.choose;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 紧凑存储只占用全部文字的字符数组和每项一个起始位置，不为每一项保留对象，也不保留预留的空间
+ */
+public class PackedWheelAdapterStorageTest {
+    private static final int ROWS = 10_000;
+
+    @Test
+    public void builderTrimsToExactStorage() throws Exception {
+        // 预估数量远小于实际数量，构建过程中多次扩容
+        PackedWheelAdapter.Builder builder = new PackedWheelAdapter.Builder();
+        StringBuilder label = new StringBuilder();
+        int chars = 0;
+        for (int i = 0; i < ROWS; i++) {
+            label.setLength(0);
+            builder.add(label.append(i));
+            chars += label.length();
+        }
+        assertStorage(builder.build(), ROWS, chars);
+    }
+
+    @Test
+    public void ofStoresEveryLabel() throws Exception {
+        List<CharSequence> labels = new ArrayList<>();
+        int chars = 0;
+        for (int i = 0; i < ROWS; i++) {
+            String label = i % 3 == 0 ? "" : "item " + i;
+            labels.add(label);
+            chars += label.length();
+        }
+        PackedWheelAdapter adapter = PackedWheelAdapter.of(labels);
+        assertStorage(adapter, ROWS, chars);
+        for (int i = 0; i < ROWS; i++) {
+            assertEquals(labels.get(i), adapter.getLabel(i));
+        }
+    }
+
+    private static void assertStorage(PackedWheelAdapter adapter, int count, int chars) throws Exception {
+        assertEquals(count, adapter.getItemCount());
+        assertEquals(chars, adapter.getChars().length);
+        assertEquals(chars, adapter.getStart(count));
+        assertEquals(count + 1, offsets(adapter).length);
+    }
+
+    private static int[] offsets(PackedWheelAdapter adapter) throws Exception {
+        Field field = PackedWheelAdapter.class.getDeclaredField("mOffsets");
+        field.setAccessible(true);
+        return (int[]) field.get(adapter);
+    }
+}
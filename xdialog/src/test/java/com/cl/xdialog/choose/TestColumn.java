@@ -0,0 +1,67 @@
+package com.cl.xdialog.choose;
+
+import android.graphics.Paint;
+import android.text.TextPaint;
+
+import kotlin.Unit;
+
+/**
+ * 测试用的一列滚轮，数据由CountingWheelAdapter生成，滚动由测试直接驱动WheelController
+ */
+public class TestColumn extends WheelColumn {
+    public static final int ITEM_HEIGHT = TestGeometry.ITEM_HEIGHT;
+    public static final int WIDTH = 400;
+
+    private static final WheelController.Host NO_HOST = new WheelController.Host() {
+        @Override
+        public void requestFrame() {
+        }
+
+        @Override
+        public void invalidate() {
+        }
+
+        @Override
+        public void onWheelChanged(int oldIndex, int newIndex) {
+        }
+
+        @Override
+        public void onScrollStateChanged(int state) {
+        }
+    };
+
+    public final CountingWheelAdapter adapter;
+    private final WheelController mController;
+
+    public TestColumn(int itemSize, boolean cyclic) {
+        super(() -> Unit.INSTANCE);
+        adapter = new CountingWheelAdapter(itemSize);
+        setAdapter(adapter);
+        setCyclic(cyclic);
+        setRight(WIDTH);
+        mController = new WheelController(this, NO_HOST);
+    }
+
+    @Override
+    public WheelController getController() {
+        return mController;
+    }
+
+    @Override
+    public int getItemHeight() {
+        return ITEM_HEIGHT;
+    }
+
+    /**
+     * 显示itemCount项、宽度与列相同的绘制器
+     */
+    public static WheelRenderer newRenderer(int itemCount) {
+        WheelRenderer renderer = new WheelRenderer();
+        renderer.setTextPaint(new TextPaint(Paint.ANTI_ALIAS_FLAG));
+        renderer.setSelectedTextPaint(new TextPaint(Paint.ANTI_ALIAS_FLAG));
+        renderer.setItemHeight(ITEM_HEIGHT);
+        renderer.setItemCount(itemCount);
+        renderer.setBounds(0, 0, WIDTH, ITEM_HEIGHT * itemCount);
+        return renderer;
+    }
+}
@@ -0,0 +1,31 @@
+package com.cl.xdialog.choose;
+
+/**
+ * 测试用的滚轮尺寸，数据量和是否循环可以在测试中修改
+ */
+public class TestGeometry implements WheelPhysics.Geometry {
+    public static final int ITEM_HEIGHT = 50;
+
+    public int itemSize;
+    public boolean cyclic;
+
+    public TestGeometry(int itemSize, boolean cyclic) {
+        this.itemSize = itemSize;
+        this.cyclic = cyclic;
+    }
+
+    @Override
+    public int getItemHeight() {
+        return ITEM_HEIGHT;
+    }
+
+    @Override
+    public int getItemSize() {
+        return itemSize;
+    }
+
+    @Override
+    public boolean isCyclic() {
+        return cyclic;
+    }
+}
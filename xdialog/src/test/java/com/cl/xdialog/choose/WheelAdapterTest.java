@@ -0,0 +1,53 @@
+package com.cl.xdialog.choose;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import java.util.List;
+
+/**
+ * 滚轮不拷贝数据，只在显示某一项时才向适配器获取文字
+ */
+@RunWith(RobolectricTestRunner.class)
+public class WheelAdapterTest {
+    private static final int ROWS = 1_000_000;
+
+    @Test
+    public void setEntriesKeepsCallersList() {
+        List<CharSequence> labels = WheelDrawAllocationTest.labels(100);
+        WheelView wheel = new WheelView(WheelDrawAllocationTest.context());
+        wheel.setEntries(labels);
+        labels.set(5, "changed");
+        assertSame(labels.get(5), wheel.getItem(5));
+    }
+
+    @Test
+    public void drawReadsOnlyVisibleLabels() {
+        CountingWheelAdapter adapter = new CountingWheelAdapter(ROWS);
+        WheelView wheel = new WheelView(WheelDrawAllocationTest.context());
+        wheel.setAdapter(adapter);
+        WheelDrawAllocationTest.layout(wheel);
+        wheel.setCurrentIndex(ROWS / 2, false);
+        assertEquals(0, adapter.labelCount);
+        wheel.onDraw(new CountingCanvas());
+        assertTrue(adapter.labelCount > 0);
+        assertTrue(adapter.labelCount <= 2 * wheel.getVisibleItemCount());
+    }
+
+    @Test
+    public void numericLabelsAreGeneratedOnDemand() {
+        NumericWheelAdapter adapter = new NumericWheelAdapter(1900, 2100, "", "年");
+        assertEquals(201, adapter.getItemCount());
+        assertEquals("2000年", adapter.getLabel(100).toString());
+        // 最近生成的文字被缓存
+        assertSame(adapter.getLabel(100), adapter.getLabel(100));
+        assertEquals(2000, adapter.getValue(100));
+        assertEquals(100, adapter.indexOf(2000));
+        assertEquals(-1, adapter.indexOf(2101));
+    }
+}
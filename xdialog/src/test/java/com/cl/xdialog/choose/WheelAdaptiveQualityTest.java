@@ -0,0 +1,82 @@
+package com.cl.xdialog.choose;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 只有惯性滑动速度超过阈值时才切换为低质量绘制，低质量绘制不修改共用的画笔
+ */
+@RunWith(RobolectricTestRunner.class)
+public class WheelAdaptiveQualityTest {
+    private static final int ITEM_HEIGHT = TestGeometry.ITEM_HEIGHT;
+    private static final float THRESHOLD = WheelView.DEFAULT_ADAPTIVE_QUALITY_THRESHOLD;
+
+    private final CountingCanvas mCanvas = new CountingCanvas();
+    private TestColumn mColumn;
+    private WheelRenderer mRenderer;
+    private WheelController mController;
+    private List<WheelColumn> mColumns;
+
+    @Before
+    public void setUp() {
+        mColumn = new TestColumn(100, true);
+        mController = mColumn.getController();
+        mColumns = Collections.singletonList(mColumn);
+        mRenderer = TestColumn.newRenderer(9);
+        mRenderer.setAdaptiveQuality(true);
+    }
+
+    @Test
+    public void slowFlingKeepsFullQuality() {
+        fling(THRESHOLD * ITEM_HEIGHT / 2);
+        assertFalse(mRenderer.isLowQuality(mColumn));
+        draw();
+        assertTrue(mCanvas.textCount > 0);
+        assertEquals(0, mCanvas.aliasedTextCount);
+    }
+
+    @Test
+    public void fastFlingDrawsAliasedText() {
+        fling(THRESHOLD * ITEM_HEIGHT * 4);
+        assertTrue(mRenderer.isLowQuality(mColumn));
+        draw();
+        assertTrue(mCanvas.textCount > 0);
+        assertEquals(mCanvas.textCount, mCanvas.aliasedTextCount);
+        // 共用的画笔保持抗锯齿
+        assertTrue(mRenderer.getTextPaint().isAntiAlias());
+        assertTrue(mRenderer.getSelectedTextPaint().isAntiAlias());
+    }
+
+    @Test
+    public void fastFlingKeepsFullQualityWhenDisabled() {
+        mRenderer.setAdaptiveQuality(false);
+        fling(THRESHOLD * ITEM_HEIGHT * 4);
+        assertFalse(mRenderer.isLowQuality(mColumn));
+        draw();
+        assertEquals(0, mCanvas.aliasedTextCount);
+    }
+
+    /**
+     * 以velocity(像素/秒)开始惯性滑动并推进一帧，得到当前速度
+     */
+    private void fling(float velocity) {
+        mController.startDrag();
+        mController.release(velocity, 0);
+        mController.doFrame(16);
+        assertEquals(WheelController.SCROLL_STATE_FLINGING, mController.getScrollState());
+    }
+
+    private void draw() {
+        mCanvas.reset();
+        mRenderer.drawItems(mCanvas, mColumns);
+    }
+}
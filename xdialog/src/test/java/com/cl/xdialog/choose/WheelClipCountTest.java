@@ -0,0 +1,71 @@
+package com.cl.xdialog.choose;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import java.util.Collections;
+
+/**
+ * 逐项裁剪每项最多两次save/clipRect，分两遍裁剪每帧的次数与显示项数无关
+ */
+@RunWith(RobolectricTestRunner.class)
+public class WheelClipCountTest {
+    private static final int ITEM_HEIGHT = TestColumn.ITEM_HEIGHT;
+    private static final int[] ITEM_COUNTS = {3, 5, 7, 9};
+
+    @Test
+    public void perItemClipsAtMostTwicePerItem() {
+        for (int itemCount : ITEM_COUNTS) {
+            // 停止时每项只与一个区域相交
+            Frame resting = drawFrame(itemCount, false, 0f);
+            assertEquals(resting.items, resting.canvas.clipCount);
+            assertEquals(resting.items, resting.canvas.saveCount);
+            // 滚动中与中间区域相交的两项各裁剪两次
+            Frame scrolling = drawFrame(itemCount, false, ITEM_HEIGHT / 2f);
+            assertEquals(scrolling.items + 2, scrolling.canvas.clipCount);
+            assertEquals(scrolling.canvas.clipCount, scrolling.canvas.saveCount);
+            assertTrue(scrolling.canvas.clipCount <= 2 * scrolling.items);
+        }
+    }
+
+    @Test
+    public void twoPassClipUsesConstantClipCount() {
+        for (int itemCount : ITEM_COUNTS) {
+            for (float offset : new float[]{0f, ITEM_HEIGHT / 2f}) {
+                Frame twoPass = drawFrame(itemCount, true, offset);
+                // 上下区域一次(加裁掉中间一次)，中间区域一次
+                assertEquals(3, twoPass.canvas.clipCount);
+                assertEquals(2, twoPass.canvas.saveCount);
+                // 绘制的文字与逐项裁剪相同
+                assertEquals(drawFrame(itemCount, false, offset).canvas.textCount, twoPass.canvas.textCount);
+            }
+        }
+    }
+
+    /**
+     * 停在第50项，再滚动offset后绘制一帧
+     */
+    private static Frame drawFrame(int itemCount, boolean twoPass, float offset) {
+        TestColumn column = new TestColumn(100, false);
+        WheelController controller = column.getController();
+        controller.setCurrentIndex(50, false, 0);
+        controller.startDrag();
+        controller.drag(offset);
+        WheelRenderer renderer = TestColumn.newRenderer(itemCount);
+        renderer.setTwoPassClip(twoPass);
+        Frame frame = new Frame();
+        renderer.drawItems(frame.canvas, Collections.singletonList(column));
+        frame.items = renderer.getVisibleEnd() - renderer.getVisibleStart();
+        assertTrue(frame.items >= itemCount);
+        return frame;
+    }
+
+    private static class Frame {
+        final CountingCanvas canvas = new CountingCanvas();
+        int items;
+    }
+}
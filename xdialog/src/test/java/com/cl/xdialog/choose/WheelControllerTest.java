@@ -0,0 +1,137 @@
+package com.cl.xdialog.choose;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 滚动控制不依赖Android，WheelView和MultiWheelView的每一列行为相同
+ */
+public class WheelControllerTest {
+    private static final long FRAME_MS = 16;
+    private static final int MAX_FRAMES = 10000;
+    private static final int ITEM_HEIGHT = TestGeometry.ITEM_HEIGHT;
+
+    private final List<int[]> mChanges = new ArrayList<>();
+    private final List<Integer> mStates = new ArrayList<>();
+    private boolean mFrameRequested;
+    private long mNow;
+
+    private final WheelController.Host mHost = new WheelController.Host() {
+        @Override
+        public void requestFrame() {
+            mFrameRequested = true;
+        }
+
+        @Override
+        public void invalidate() {
+        }
+
+        @Override
+        public void onWheelChanged(int oldIndex, int newIndex) {
+            mChanges.add(new int[]{oldIndex, newIndex});
+        }
+
+        @Override
+        public void onScrollStateChanged(int state) {
+            mStates.add(state);
+        }
+    };
+
+    @Test
+    public void longJumpNotifiesOnlyTheTarget() {
+        WheelController controller = controller(100);
+        controller.setCurrentIndex(60, true, mNow);
+        runFrames(controller);
+        assertEquals(60, controller.getCurrentIndex());
+        assertEquals(1, mChanges.size());
+        assertChange(0, 0, 60);
+        assertEquals(WheelController.SCROLL_STATE_IDLE, controller.getScrollState());
+    }
+
+    @Test
+    public void shortAnimationNotifiesEveryIndex() {
+        WheelController controller = controller(100);
+        controller.setCurrentIndex(3, true, mNow);
+        runFrames(controller);
+        assertEquals(3, mChanges.size());
+        assertChange(2, 2, 3);
+    }
+
+    @Test
+    public void perFrameDispatchMergesDragSteps() {
+        WheelController controller = controller(100);
+        controller.setDispatchMode(WheelController.DISPATCH_PER_FRAME);
+        controller.startDrag();
+        for (int i = 0; i < 5; i++) {
+            assertTrue(controller.drag(ITEM_HEIGHT));
+        }
+        assertEquals(5, controller.getCurrentIndex());
+        assertEquals(0, mChanges.size());
+        nextFrame(controller);
+        assertEquals(1, mChanges.size());
+        assertChange(0, 0, 5);
+    }
+
+    @Test
+    public void settledDispatchWaitsForIdle() {
+        WheelController controller = controller(100);
+        controller.setDispatchMode(WheelController.DISPATCH_SETTLED);
+        controller.startDrag();
+        controller.drag(ITEM_HEIGHT * 4.4f);
+        controller.release(0f, mNow);
+        assertEquals(0, mChanges.size());
+        assertEquals(WheelController.SCROLL_STATE_SETTLING, controller.getScrollState());
+        runFrames(controller);
+        assertEquals(1, mChanges.size());
+        assertChange(0, 0, 4);
+        assertEquals(WheelController.SCROLL_STATE_IDLE, (int) mStates.get(mStates.size() - 1));
+    }
+
+    @Test
+    public void dataSetChangeKeepsPositionUnlessOutOfRange() {
+        TestGeometry geometry = new TestGeometry(100, false);
+        WheelController controller = new WheelController(geometry, mHost);
+        controller.reset();
+        controller.setCurrentIndex(40, false, mNow);
+        mChanges.clear();
+        geometry.itemSize = 50;
+        controller.onDataSetChanged();
+        assertEquals(40, controller.getCurrentIndex());
+        assertEquals(0, mChanges.size());
+        geometry.itemSize = 10;
+        controller.onDataSetChanged();
+        assertEquals(9, controller.getCurrentIndex());
+        assertChange(0, 40, 9);
+    }
+
+    private WheelController controller(int itemSize) {
+        WheelController controller = new WheelController(new TestGeometry(itemSize, false), mHost);
+        controller.reset();
+        mChanges.clear();
+        mStates.clear();
+        return controller;
+    }
+
+    private void nextFrame(WheelController controller) {
+        mFrameRequested = false;
+        mNow += FRAME_MS;
+        controller.doFrame(mNow);
+    }
+
+    private void runFrames(WheelController controller) {
+        for (int i = 0; i < MAX_FRAMES && mFrameRequested; i++) {
+            nextFrame(controller);
+        }
+        assertTrue(!mFrameRequested);
+    }
+
+    private void assertChange(int i, int oldIndex, int newIndex) {
+        assertEquals(oldIndex, mChanges.get(i)[0]);
+        assertEquals(newIndex, mChanges.get(i)[1]);
+    }
+}
@@ -0,0 +1,84 @@
+package com.cl.xdialog.choose;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Color;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.GraphicsMode;
+
+import java.util.Collections;
+
+/**
+ * 3D滚轮的文字以不透明的画笔绘制到图层中，由一次渐变混合得到随角度变化的透明度
+ */
+@RunWith(RobolectricTestRunner.class)
+@GraphicsMode(GraphicsMode.Mode.NATIVE)
+public class WheelDepthFadeTest {
+    private static final int WIDTH = 100;
+    private static final int RADIUS = 100;
+    private static final int BAND_HALF = 10;
+    // 渐变按取样点线性插值，透明度允许的误差
+    private static final int ALPHA_TOLERANCE = 8;
+
+    @Test
+    public void gradientFollowsCylinderAngle() {
+        Bitmap bitmap = Bitmap.createBitmap(WIDTH, RADIUS * 2, Bitmap.Config.ARGB_8888);
+        Canvas canvas = new Canvas(bitmap);
+        WheelDepthFade fade = new WheelDepthFade();
+        fade.update(0f, 0f, WIDTH, RADIUS * 2, RADIUS, RADIUS, BAND_HALF);
+        int saveCount = fade.saveLayer(canvas);
+        assertTrue(saveCount >= 0);
+        canvas.drawColor(Color.BLACK);
+        fade.restore(canvas, saveCount);
+        // 中间选中区域保持不透明
+        for (int d = 0; d < BAND_HALF; d++) {
+            assertEquals(255, alphaAt(bitmap, RADIUS + d));
+            assertEquals(255, alphaAt(bitmap, RADIUS - 1 - d));
+        }
+        for (int d = 20; d < RADIUS; d += 20) {
+            double fraction = (double) d / RADIUS;
+            int expected = (int) (Math.sqrt(1 - fraction * fraction) * 255);
+            assertEquals("distance " + d, expected, alphaAt(bitmap, RADIUS + d), ALPHA_TOLERANCE);
+            assertEquals("distance " + d, expected, alphaAt(bitmap, RADIUS - d), ALPHA_TOLERANCE);
+        }
+    }
+
+    @Test
+    public void renderer3DDrawsOpaqueTextInOneLayer() {
+        CountingCanvas canvas = draw(true);
+        assertEquals(1, canvas.layerCount);
+        // 图层之外只绘制一次蒙版
+        assertEquals(1, canvas.rectCount);
+        assertTrue(canvas.textCount > 0);
+        assertEquals(0, canvas.translucentTextCount);
+    }
+
+    @Test
+    public void flatRendererSkipsLayer() {
+        CountingCanvas canvas = draw(false);
+        assertEquals(0, canvas.layerCount);
+        assertEquals(0, canvas.rectCount);
+        assertEquals(0, canvas.translucentTextCount);
+    }
+
+    private static CountingCanvas draw(boolean is3D) {
+        TestColumn column = new TestColumn(100, true);
+        column.getController().startDrag();
+        column.getController().drag(TestColumn.ITEM_HEIGHT / 3f);
+        WheelRenderer renderer = TestColumn.newRenderer(9);
+        renderer.set3D(is3D);
+        CountingCanvas canvas = new CountingCanvas();
+        renderer.drawItems(canvas, Collections.singletonList(column));
+        return canvas;
+    }
+
+    private static int alphaAt(Bitmap bitmap, int y) {
+        return Color.alpha(bitmap.getPixel(WIDTH / 2, y));
+    }
+}
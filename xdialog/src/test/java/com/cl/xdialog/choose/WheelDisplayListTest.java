@@ -0,0 +1,88 @@
+package com.cl.xdialog.choose;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import android.graphics.Color;
+import android.os.Build;
+import android.view.View;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+import org.robolectric.annotation.GraphicsMode;
+
+/**
+ * 文字只在中间选项、尺寸或样式变化时重新录制，其余帧直接绘制已录制的RenderNode
+ */
+@RunWith(RobolectricTestRunner.class)
+@GraphicsMode(GraphicsMode.Mode.NATIVE)
+@Config(sdk = Build.VERSION_CODES.Q)
+public class WheelDisplayListTest {
+    private final CountingWheelAdapter mAdapter = new CountingWheelAdapter(100);
+    private final CountingCanvas mCanvas = new CountingCanvas();
+    private WheelView mWheel;
+
+    @Before
+    public void setUp() {
+        mWheel = new WheelView(WheelDrawAllocationTest.context());
+        mWheel.setAdapter(mAdapter);
+        WheelDrawAllocationTest.layout(mWheel);
+        mWheel.setCurrentIndex(50, false);
+        mCanvas.hardwareAccelerated = true;
+        draw();
+    }
+
+    @Test
+    public void steadyFramesReuseRecording() {
+        assertEquals(0, draw());
+        assertEquals(0, draw());
+        assertEquals(4, mCanvas.renderNodeCount);
+    }
+
+    @Test
+    public void styleChangeRerecords() {
+        mWheel.setTextColor(Color.RED);
+        assertTrue(draw() > 0);
+        assertEquals(0, draw());
+    }
+
+    @Test
+    public void indexChangeRerecords() {
+        mWheel.setCurrentIndex(51, false);
+        assertTrue(draw() > 0);
+        assertEquals(0, draw());
+    }
+
+    @Test
+    public void resizeRerecords() {
+        mWheel.measure(
+                View.MeasureSpec.makeMeasureSpec(300, View.MeasureSpec.EXACTLY),
+                View.MeasureSpec.makeMeasureSpec(500, View.MeasureSpec.EXACTLY)
+        );
+        mWheel.layout(0, 0, 300, 500);
+        assertTrue(draw() > 0);
+        assertEquals(0, draw());
+    }
+
+    @Test
+    public void perItemClipDrawsItemsDirectly() {
+        // 逐项裁剪时子类可能重写drawItem，文字不再从RenderNode绘制
+        mWheel.setTwoPassClipEnabled(false);
+        draw();
+        assertEquals(2, mCanvas.renderNodeCount);
+        assertTrue(mCanvas.textCount > 0);
+    }
+
+    /**
+     * @return 本帧向适配器取文字的次数，只有重新录制时才会取
+     */
+    private int draw() {
+        mAdapter.labelCount = 0;
+        mCanvas.reset();
+        mWheel.onDraw(mCanvas);
+        return mAdapter.labelCount;
+    }
+}
@@ -0,0 +1,138 @@
+package com.cl.xdialog.choose;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import android.content.Context;
+import android.os.Build;
+import android.view.View;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+import org.robolectric.annotation.GraphicsMode;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 停止滚动后的每一帧绘制都不应该创建对象
+ */
+@RunWith(RobolectricTestRunner.class)
+@GraphicsMode(GraphicsMode.Mode.NATIVE)
+public class WheelDrawAllocationTest {
+    private static final int WIDTH = 400;
+    private static final int HEIGHT = 600;
+    // Robolectric通过MethodHandle调用影子方法，调用次数超过JVM的定制阈值(127)时会生成一次字节码，预热后再统计
+    private static final int WARMUP_FRAMES = 200;
+
+    @Test
+    public void wheelViewSteadyFrameDoesNotAllocate() {
+        WheelView wheel = new WheelView(context());
+        wheel.setEntries(labels(100));
+        assertSteadyFrameDoesNotAllocate(wheel);
+    }
+
+    @Test
+    public void cyclicPackedWheelViewSteadyFrameDoesNotAllocate() {
+        WheelView wheel = new WheelView(context());
+        wheel.setPackedEntries(labels(100));
+        wheel.setCyclic(true);
+        assertSteadyFrameDoesNotAllocate(wheel);
+    }
+
+    @Test
+    public void perItemClipSteadyFrameDoesNotAllocate() {
+        WheelView wheel = new WheelView(context());
+        wheel.setEntries(labels(100));
+        wheel.setTwoPassClipEnabled(false);
+        assertSteadyFrameDoesNotAllocate(wheel);
+    }
+
+    @Test
+    public void wheel3DViewSteadyFrameDoesNotAllocate() {
+        Wheel3DView wheel = new Wheel3DView(context());
+        wheel.setEntries(labels(100));
+        assertSteadyFrameDoesNotAllocate(wheel);
+    }
+
+    @Test
+    @Config(sdk = Build.VERSION_CODES.Q)
+    public void displayListSteadyFrameDoesNotAllocate() {
+        WheelView wheel = new WheelView(context());
+        wheel.setEntries(labels(100));
+        CountingCanvas canvas = hardwareCanvas();
+        assertSteadyFrameDoesNotAllocate(wheel, canvas);
+        // 文字录制在RenderNode中，不直接绘制到画布上
+        assertEquals(4, canvas.renderNodeCount);
+        assertEquals(0, canvas.textCount);
+    }
+
+    @Test
+    @Config(sdk = Build.VERSION_CODES.Q)
+    public void wheel3DViewHardwareSteadyFrameDoesNotAllocate() {
+        Wheel3DView wheel = new Wheel3DView(context());
+        wheel.setEntries(labels(100));
+        CountingCanvas canvas = hardwareCanvas();
+        assertSteadyFrameDoesNotAllocate(wheel, canvas);
+        // 3D文字逐帧绘制，蒙版和分割线仍来自RenderNode
+        assertEquals(2, canvas.renderNodeCount);
+        assertTrue(canvas.textCount > 0);
+    }
+
+    private static void assertSteadyFrameDoesNotAllocate(WheelView wheel) {
+        assertSteadyFrameDoesNotAllocate(wheel, new CountingCanvas());
+    }
+
+    private static void assertSteadyFrameDoesNotAllocate(WheelView wheel, CountingCanvas canvas) {
+        layout(wheel);
+        wheel.setCurrentIndex(50, false);
+        // 第一帧可能加载类、创建缓存
+        wheel.onDraw(canvas);
+        assertTrue("nothing was drawn", canvas.textCount + canvas.renderNodeCount > 0);
+        for (int i = 1; i < WARMUP_FRAMES; i++) {
+            wheel.onDraw(canvas);
+        }
+        long overhead = -allocatedBytes() + allocatedBytes();
+        long before = allocatedBytes();
+        wheel.onDraw(canvas);
+        long allocated = allocatedBytes() - before - overhead;
+        assertEquals("bytes allocated by a steady-state frame", 0L, allocated);
+        canvas.reset();
+        wheel.onDraw(canvas);
+    }
+
+    private static CountingCanvas hardwareCanvas() {
+        CountingCanvas canvas = new CountingCanvas();
+        canvas.hardwareAccelerated = true;
+        return canvas;
+    }
+
+    static Context context() {
+        return RuntimeEnvironment.getApplication();
+    }
+
+    static void layout(View view) {
+        view.measure(
+                View.MeasureSpec.makeMeasureSpec(WIDTH, View.MeasureSpec.EXACTLY),
+                View.MeasureSpec.makeMeasureSpec(HEIGHT, View.MeasureSpec.EXACTLY)
+        );
+        view.layout(0, 0, WIDTH, HEIGHT);
+    }
+
+    static List<CharSequence> labels(int count) {
+        List<CharSequence> labels = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            labels.add("item " + i);
+        }
+        return labels;
+    }
+
+    private static long allocatedBytes() {
+        return ((com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean())
+                .getCurrentThreadAllocatedBytes();
+    }
+}
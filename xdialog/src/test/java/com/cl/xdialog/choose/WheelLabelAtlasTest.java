@@ -0,0 +1,174 @@
+package com.cl.xdialog.choose;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Color;
+import android.graphics.Paint;
+import android.graphics.Typeface;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.GraphicsMode;
+
+/**
+ * 文字位图缓存只在软件绘制时使用，命中的文字不再光栅化
+ */
+@RunWith(RobolectricTestRunner.class)
+@GraphicsMode(GraphicsMode.Mode.NATIVE)
+public class WheelLabelAtlasTest {
+    private static final int CELL_WIDTH = 120;
+    private static final int CELL_HEIGHT = 40;
+
+    @Test
+    public void softwareCanvasBlitsCachedLabels() {
+        WheelView wheel = newWheel(true);
+        CountingCanvas canvas = new CountingCanvas();
+        wheel.onDraw(canvas);
+        canvas.reset();
+        wheel.setCurrentIndex(51, false);
+        wheel.onDraw(canvas);
+        assertEquals(0, canvas.textCount);
+        assertTrue(canvas.bitmapCount >= wheel.getVisibleItemCount());
+    }
+
+    @Test
+    public void hardwareCanvasDrawsTextDirectly() {
+        WheelView wheel = newWheel(true);
+        wheel.setDisplayListCacheEnabled(false);
+        CountingCanvas canvas = new CountingCanvas() {
+            @Override
+            public boolean isHardwareAccelerated() {
+                return true;
+            }
+        };
+        wheel.onDraw(canvas);
+        assertEquals(0, canvas.bitmapCount);
+        assertTrue(canvas.textCount >= wheel.getVisibleItemCount());
+    }
+
+    @Test
+    public void atlasHitDoesNotRasterizeAgain() {
+        WheelLabelAtlas atlas = newAtlas(2);
+        Bitmap bitmap = Bitmap.createBitmap(CELL_WIDTH, CELL_HEIGHT, Bitmap.Config.ARGB_8888);
+        Canvas canvas = new Canvas(bitmap);
+        assertTrue(draw(atlas, canvas, 7, "item 7"));
+        assertTrue(hasInk(bitmap));
+        bitmap.eraseColor(Color.TRANSPARENT);
+        // 命中时只贴图，不会读取文字
+        assertTrue(draw(atlas, canvas, 7, new UnreadableText()));
+        assertTrue(hasInk(bitmap));
+    }
+
+    @Test
+    public void evictsLeastRecentlyUsedLabel() {
+        WheelLabelAtlas atlas = newAtlas(2);
+        CountingCanvas canvas = new CountingCanvas();
+        draw(atlas, canvas, 1, "item 1");
+        draw(atlas, canvas, 2, "item 2");
+        draw(atlas, canvas, 1, new UnreadableText());
+        // 2最久未使用，被3替换
+        draw(atlas, canvas, 3, "item 3");
+        draw(atlas, canvas, 1, new UnreadableText());
+        draw(atlas, canvas, 3, new UnreadableText());
+        ReadableText label = new ReadableText("item 2");
+        draw(atlas, canvas, 2, label);
+        assertTrue(label.read);
+        assertEquals(0, canvas.textCount);
+        assertEquals(7, canvas.bitmapCount);
+    }
+
+    private static WheelLabelAtlas newAtlas(int capacity) {
+        WheelLabelAtlas atlas = new WheelLabelAtlas(capacity);
+        atlas.configure(CELL_WIDTH, CELL_HEIGHT, 30f, Typeface.DEFAULT);
+        return atlas;
+    }
+
+    private static boolean draw(WheelLabelAtlas atlas, Canvas canvas, int key, CharSequence text) {
+        Paint paint = new Paint();
+        paint.setColor(Color.BLACK);
+        return atlas.draw(canvas, key, text, CELL_WIDTH / 2f, CELL_HEIGHT / 2f, 0, paint);
+    }
+
+    private static boolean hasInk(Bitmap bitmap) {
+        for (int y = 0; y < bitmap.getHeight(); y++) {
+            for (int x = 0; x < bitmap.getWidth(); x++) {
+                if (Color.alpha(bitmap.getPixel(x, y)) != 0) return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 命中缓存时不应被读取的文字
+     */
+    private static class UnreadableText implements CharSequence {
+        @Override
+        public int length() {
+            throw new AssertionError("cached label was rasterized again");
+        }
+
+        @Override
+        public char charAt(int index) {
+            throw new AssertionError("cached label was rasterized again");
+        }
+
+        @Override
+        public CharSequence subSequence(int start, int end) {
+            throw new AssertionError("cached label was rasterized again");
+        }
+
+        @Override
+        public String toString() {
+            throw new AssertionError("cached label was rasterized again");
+        }
+    }
+
+    /**
+     * 记录是否被读取过的文字
+     */
+    private static class ReadableText implements CharSequence {
+        private final String mText;
+        boolean read;
+
+        ReadableText(String text) {
+            mText = text;
+        }
+
+        @Override
+        public int length() {
+            read = true;
+            return mText.length();
+        }
+
+        @Override
+        public char charAt(int index) {
+            read = true;
+            return mText.charAt(index);
+        }
+
+        @Override
+        public CharSequence subSequence(int start, int end) {
+            read = true;
+            return mText.subSequence(start, end);
+        }
+
+        @Override
+        public String toString() {
+            read = true;
+            return mText;
+        }
+    }
+
+    private static WheelView newWheel(boolean renderCache) {
+        WheelView wheel = new WheelView(WheelDrawAllocationTest.context());
+        wheel.setEntries(WheelDrawAllocationTest.labels(1000));
+        wheel.setRenderCacheEnabled(renderCache);
+        WheelDrawAllocationTest.layout(wheel);
+        wheel.setCurrentIndex(50, false);
+        return wheel;
+    }
+}
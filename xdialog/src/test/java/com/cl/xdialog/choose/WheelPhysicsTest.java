@@ -0,0 +1,127 @@
+package com.cl.xdialog.choose;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+/**
+ * 滚动物理不依赖Android，按固定的帧间隔推进动画
+ */
+public class WheelPhysicsTest {
+    private static final int ITEM_HEIGHT = TestGeometry.ITEM_HEIGHT;
+    private static final long FRAME_MS = 16;
+    private static final int MAX_FRAMES = 10000;
+
+    private long mNow;
+
+    @Test
+    public void snapFlingStopsOnAnItem() {
+        WheelPhysics physics = new WheelPhysics(new TestGeometry(100, false));
+        physics.scrollBy(1000f, 0);
+        for (float velocity : new float[]{1234f, -987f, 3333f}) {
+            assertTrue(physics.fling(velocity, mNow));
+            runToEnd(physics);
+            assertEquals(0f, physics.getItemOffset(), 0f);
+            assertEquals(physics.getScrollOffset() / ITEM_HEIGHT, physics.getCurrentIndex(), 0f);
+        }
+        // 对齐后仍停在当前项，不需要滑动
+        assertFalse(physics.fling(77f, mNow));
+    }
+
+    @Test
+    public void flingStopsAtEdgeWithoutOverscroll() {
+        WheelPhysics physics = new WheelPhysics(new TestGeometry(10, false));
+        physics.scrollBy(400f, 0);
+        assertTrue(physics.fling(5000f, mNow));
+        float max = physics.getMaxScrollOffset();
+        int frames = 0;
+        while (physics.isAnimating()) {
+            mNow += FRAME_MS;
+            physics.step(mNow);
+            assertTrue(physics.getScrollOffset() <= max);
+            frames++;
+        }
+        assertEquals(max, physics.getScrollOffset(), 0f);
+        // 到达边界后立即停止，不等减速曲线走完(约1.8秒)
+        assertTrue("frames: " + frames, frames < 20);
+        assertFalse(physics.startJustify(mNow));
+    }
+
+    @Test
+    public void flingOverscrollsThenBouncesBack() {
+        WheelPhysics physics = new WheelPhysics(new TestGeometry(10, false));
+        physics.setOverscrollDistance(60);
+        physics.scrollBy(400f, 0);
+        assertTrue(physics.fling(5000f, mNow));
+        float max = physics.getMaxScrollOffset();
+        float farthest = 0f;
+        while (physics.isAnimating()) {
+            mNow += FRAME_MS;
+            physics.step(mNow);
+            farthest = Math.max(farthest, physics.getScrollOffset());
+            assertEquals(9, physics.getCurrentIndex());
+        }
+        assertEquals(max + 60, farthest, 0f);
+        assertTrue(physics.startJustify(mNow));
+        runToEnd(physics);
+        assertEquals(max, physics.getScrollOffset(), 0f);
+    }
+
+    @Test
+    public void currentIndexStaysInRangeWhileOverscrolled() {
+        WheelPhysics physics = new WheelPhysics(new TestGeometry(10, false));
+        assertTrue(physics.scrollBy(-40f, 60));
+        assertEquals(-40f, physics.getScrollOffset(), 0f);
+        assertEquals(0, physics.getCurrentIndex());
+        // 不允许越界时停在边界
+        physics.scrollBy(-40f, 0);
+        assertEquals(0f, physics.getScrollOffset(), 0f);
+        physics.scrollBy(physics.getMaxScrollOffset() + 55f, 60);
+        assertEquals(9, physics.getCurrentIndex());
+        assertTrue(physics.startJustify(mNow));
+        runToEnd(physics);
+        assertEquals(9, physics.getCurrentIndex());
+        assertEquals(0f, physics.getItemOffset(), 0f);
+    }
+
+    @Test
+    public void cyclicOffsetStaysNormalizedOverLongRuns() {
+        int size = 7;
+        float period = size * ITEM_HEIGHT;
+        WheelPhysics physics = new WheelPhysics(new TestGeometry(size, true));
+        for (int i = 0; i < 200000; i++) {
+            physics.scrollBy(i < 100000 ? 37.3f : -41.7f, 0);
+            assertInPeriod(physics, period);
+        }
+        // 一次滑过一百多圈
+        for (float velocity : new float[]{100000f, -100000f}) {
+            assertTrue(physics.fling(velocity, mNow));
+            while (physics.isAnimating()) {
+                mNow += FRAME_MS;
+                physics.step(mNow);
+                assertInPeriod(physics, period);
+            }
+            float offset = physics.getScrollOffset();
+            assertEquals(physics.snapOffset(offset), offset, 1e-2f);
+            int index = Math.round(offset / ITEM_HEIGHT) % size;
+            assertEquals(index, physics.getCurrentIndex());
+        }
+    }
+
+    private static void assertInPeriod(WheelPhysics physics, float period) {
+        float offset = physics.getScrollOffset();
+        assertTrue("offset: " + offset, offset >= 0f && offset < period);
+        int index = physics.getCurrentIndex();
+        assertTrue("index: " + index, index >= 0 && index < period / ITEM_HEIGHT);
+    }
+
+    private void runToEnd(WheelPhysics physics) {
+        for (int i = 0; i < MAX_FRAMES && physics.isAnimating(); i++) {
+            mNow += FRAME_MS;
+            physics.step(mNow);
+        }
+        assertFalse(physics.isAnimating());
+    }
+}
@@ -0,0 +1,67 @@
+package com.cl.xdialog.choose;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+/**
+ * 投影矩阵与直接按 f / (f + z) 计算的结果一致
+ */
+public class WheelProjectionTest {
+    private static final float RADIUS = 300f;
+    private static final float CENTER_X = 200f;
+    private static final float CENTER_Y = 400f;
+    private static final float FOCAL = WheelProjection.DEFAULT_FOCAL_DISTANCE;
+    private static final float HALF_WIDTH = 100f;
+    private static final float HALF_HEIGHT = 20f;
+    private static final float EPSILON = 1e-3f;
+
+    private final float[] mMatrix = new float[9];
+    private final float[] mPoint = new float[2];
+
+    @Test
+    public void cornersMatchPerspectiveReference() {
+        for (int step = -15; step <= 15; step++) {
+            double angle = step * 0.1;
+            WheelProjection.computeMatrix(angle, RADIUS, CENTER_X, CENTER_Y, FOCAL, mMatrix, 0);
+            float labelY = (float) (CENTER_Y + Math.sin(angle) * RADIUS);
+            for (float dx : new float[]{-HALF_WIDTH, HALF_WIDTH}) {
+                for (float dy : new float[]{-HALF_HEIGHT, HALF_HEIGHT}) {
+                    WheelProjection.mapPoint(mMatrix, 0, CENTER_X + dx, labelY + dy, mPoint);
+                    // 绕x轴旋转angle后后移(1 - cos(angle)) * r，再以焦距f投影
+                    double z = dy * Math.sin(angle) + (1 - Math.cos(angle)) * RADIUS;
+                    double scale = FOCAL / (FOCAL + z);
+                    String message = "angle " + angle + ", corner (" + dx + ", " + dy + ")";
+                    assertEquals(message, CENTER_X + dx * scale, mPoint[0], EPSILON * HALF_WIDTH);
+                    assertEquals(message, labelY + dy * Math.cos(angle) * scale, mPoint[1], EPSILON * HALF_WIDTH);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void middleItemIsNotTransformed() {
+        WheelProjection.computeMatrix(0.0, RADIUS, CENTER_X, CENTER_Y, FOCAL, mMatrix, 0);
+        WheelProjection.mapPoint(mMatrix, 0, CENTER_X + HALF_WIDTH, CENTER_Y - HALF_HEIGHT, mPoint);
+        assertEquals(CENTER_X + HALF_WIDTH, mPoint[0], EPSILON);
+        assertEquals(CENTER_Y - HALF_HEIGHT, mPoint[1], EPSILON);
+    }
+
+    @Test
+    public void edgeFartherFromMiddleIsNarrower() {
+        // 中间以下的项上边靠近观察者、下边远离，中间以上相反
+        assertTrue(halfWidth(0.6, HALF_HEIGHT) < halfWidth(0.6, -HALF_HEIGHT));
+        assertTrue(halfWidth(-0.6, -HALF_HEIGHT) < halfWidth(-0.6, HALF_HEIGHT));
+        // 离中间越远整体越小
+        assertTrue(halfWidth(1.0, 0f) < halfWidth(0.5, 0f));
+        assertEquals(halfWidth(0.5, 0f), halfWidth(-0.5, 0f), EPSILON);
+    }
+
+    private float halfWidth(double angle, float dy) {
+        WheelProjection.computeMatrix(angle, RADIUS, CENTER_X, CENTER_Y, FOCAL, mMatrix, 0);
+        float labelY = (float) (CENTER_Y + Math.sin(angle) * RADIUS);
+        WheelProjection.mapPoint(mMatrix, 0, CENTER_X + HALF_WIDTH, labelY + dy, mPoint);
+        return mPoint[0] - CENTER_X;
+    }
+}
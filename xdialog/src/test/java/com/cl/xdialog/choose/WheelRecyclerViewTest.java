@@ -0,0 +1,118 @@
+package com.cl.xdialog.choose;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+
+import android.view.View;
+import android.view.ViewGroup;
+
+import androidx.recyclerview.widget.LinearSnapHelper;
+import androidx.recyclerview.widget.RecyclerView;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+/**
+ * 边距在测量时确定，第一项和最后一项都能滚动到中间，松手后对齐到离中间最近的一项
+ */
+@RunWith(RobolectricTestRunner.class)
+public class WheelRecyclerViewTest {
+    private static final int WIDTH = 400;
+    private static final int ROWS = 20;
+    private static final int VISIBLE = 5;
+
+    private WheelRecyclerView mWheel;
+    private int mItemHeight;
+
+    @Before
+    public void setUp() {
+        mWheel = new WheelRecyclerView(WheelDrawAllocationTest.context());
+        mItemHeight = mWheel.getItemHeight();
+        mWheel.setAdapter(new FixedHeightAdapter(mItemHeight));
+        layout();
+    }
+
+    @Test
+    public void measureCentersFirstItem() {
+        int edge = (VISIBLE - 1) / 2 * mItemHeight;
+        assertEquals(edge, mWheel.getPaddingTop());
+        assertEquals(edge, mWheel.getPaddingBottom());
+        assertEquals(0, mWheel.getCurrentIndex());
+        assertCentered(0);
+    }
+
+    @Test
+    public void lastItemScrollsToMiddle() {
+        mWheel.setCurrentIndex(ROWS - 1, false);
+        layout();
+        assertEquals(ROWS - 1, mWheel.getCurrentIndex());
+        assertCentered(ROWS - 1);
+    }
+
+    @Test
+    public void snapsNearestItemToMiddle() {
+        mWheel.scrollBy(0, mItemHeight * 3 + mItemHeight / 3);
+        assertEquals(3, mWheel.getCurrentIndex());
+        assertSnapsTo(3);
+        mWheel.scrollBy(0, mItemHeight * 2 / 3);
+        assertEquals(4, mWheel.getCurrentIndex());
+        assertSnapsTo(4);
+    }
+
+    private void assertSnapsTo(int position) {
+        RecyclerView.LayoutManager layoutManager = mWheel.getLayoutManager();
+        LinearSnapHelper snapHelper = new LinearSnapHelper();
+        View snapView = snapHelper.findSnapView(layoutManager);
+        assertNotNull(snapView);
+        assertEquals(position, layoutManager.getPosition(snapView));
+        int[] distance = snapHelper.calculateDistanceToFinalSnap(layoutManager, snapView);
+        mWheel.scrollBy(0, distance[1]);
+        assertCentered(position);
+    }
+
+    /**
+     * 第position项正好位于中间区域
+     */
+    private void assertCentered(int position) {
+        RecyclerView.ViewHolder holder = mWheel.findViewHolderForAdapterPosition(position);
+        assertNotNull(holder);
+        assertEquals(mWheel.getPaddingTop(), holder.itemView.getTop());
+        assertEquals(mWheel.getHeight() - mWheel.getPaddingBottom(), holder.itemView.getBottom());
+    }
+
+    private void layout() {
+        int height = mItemHeight * VISIBLE;
+        mWheel.measure(
+                View.MeasureSpec.makeMeasureSpec(WIDTH, View.MeasureSpec.EXACTLY),
+                View.MeasureSpec.makeMeasureSpec(height, View.MeasureSpec.EXACTLY)
+        );
+        mWheel.layout(0, 0, WIDTH, height);
+    }
+
+    private static class FixedHeightAdapter extends RecyclerView.Adapter<RecyclerView.ViewHolder> {
+        private final int mItemHeight;
+
+        FixedHeightAdapter(int itemHeight) {
+            mItemHeight = itemHeight;
+        }
+
+        @Override
+        public RecyclerView.ViewHolder onCreateViewHolder(ViewGroup parent, int viewType) {
+            View view = new View(parent.getContext());
+            view.setLayoutParams(new RecyclerView.LayoutParams(ViewGroup.LayoutParams.MATCH_PARENT, mItemHeight));
+            return new RecyclerView.ViewHolder(view) {
+            };
+        }
+
+        @Override
+        public void onBindViewHolder(RecyclerView.ViewHolder holder, int position) {
+        }
+
+        @Override
+        public int getItemCount() {
+            return ROWS;
+        }
+    }
+}
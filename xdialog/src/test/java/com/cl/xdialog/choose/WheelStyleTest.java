@@ -0,0 +1,76 @@
+package com.cl.xdialog.choose;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+import android.content.Context;
+import android.util.AttributeSet;
+
+import com.cl.xdialog.R;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.Robolectric;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * 样式按主题、布局属性和配置缓存，属性或配置不同时不能共用
+ */
+@RunWith(RobolectricTestRunner.class)
+public class WheelStyleTest {
+    private final Context mContext = WheelDrawAllocationTest.context();
+
+    @Test
+    public void sameAttributesShareStyle() {
+        assertSame(WheelStyle.obtain(mContext, null), WheelStyle.obtain(mContext, null));
+        assertSame(WheelStyle.obtain(mContext, itemCount("5")), WheelStyle.obtain(mContext, itemCount("5")));
+    }
+
+    @Test
+    public void inlineAttributesGetTheirOwnStyle() {
+        WheelStyle five = WheelStyle.obtain(mContext, itemCount("5"));
+        WheelStyle seven = WheelStyle.obtain(mContext, itemCount("7"));
+        assertNotSame(five, seven);
+        assertEquals(5, five.getItemCount());
+        assertEquals(7, seven.getItemCount());
+        assertEquals(9, WheelStyle.obtain(mContext, null).getItemCount());
+    }
+
+    @Test
+    public void configurationChangeReparses() {
+        WheelStyle before = WheelStyle.obtain(mContext, null);
+        RuntimeEnvironment.setFontScale(2f);
+        WheelStyle after = WheelStyle.obtain(mContext, null);
+        assertNotSame(before, after);
+        assertEquals(before.newTextPaint().getTextSize() * 2, after.newTextPaint().getTextSize(), 1f);
+    }
+
+    @Test
+    public void concurrentCallersShareOneStyle() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            Future<?>[] futures = new Future<?>[16];
+            for (int i = 0; i < futures.length; i++) {
+                futures[i] = executor.submit(() -> WheelStyle.obtain(mContext, itemCount("3")));
+            }
+            WheelStyle style = WheelStyle.obtain(mContext, itemCount("3"));
+            for (Future<?> future : futures) {
+                assertSame(style, future.get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private static AttributeSet itemCount(String value) {
+        return Robolectric.buildAttributeSet()
+                .addAttribute(R.attr.wheelItemCount, value)
+                .build();
+    }
+}
@@ -0,0 +1,102 @@
+package com.cl.xdialog.choose;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Typeface;
+import android.text.SpannableString;
+import android.text.Spanned;
+import android.text.TextPaint;
+import android.text.style.StyleSpan;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.GraphicsMode;
+import org.robolectric.shadows.ShadowLooper;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import kotlin.Unit;
+
+/**
+ * 带样式的文字只在绘制到时排版可见附近的几项，缓存大小与数据量无关
+ */
+@RunWith(RobolectricTestRunner.class)
+@GraphicsMode(GraphicsMode.Mode.NATIVE)
+public class WheelStyledLabelsTest {
+    private static final int ROWS = 1000;
+    private static final int VISIBLE = 5;
+    private static final long TIMEOUT_MS = 5000;
+
+    private final Canvas mCanvas = new Canvas(Bitmap.createBitmap(200, 50, Bitmap.Config.ARGB_8888));
+    private final TextPaint mPaint = new TextPaint();
+
+    @Test
+    public void laysOutOnlyAroundDrawnItems() throws InterruptedException {
+        WheelStyledLabels labels = newLabels();
+        assertFalse(draw(labels, 500));
+        await(labels, 500);
+        // 前后的余量一起排版
+        assertTrue(draw(labels, 500 - WheelStyledLabels.PREFETCH_MARGIN));
+        assertTrue(draw(labels, 500 + WheelStyledLabels.PREFETCH_MARGIN));
+        // 没有绘制到的项不会提前排版
+        assertFalse(draw(labels, 10));
+    }
+
+    @Test
+    public void evictsItemsThatScrolledAway() throws InterruptedException {
+        WheelStyledLabels labels = newLabels();
+        for (int i = 0; i < 50; i++) {
+            await(labels, i);
+        }
+        assertTrue(draw(labels, 49));
+        assertFalse(draw(labels, 0));
+    }
+
+    @Test
+    public void updateDropsOldLayouts() throws InterruptedException {
+        WheelStyledLabels labels = newLabels();
+        await(labels, 3);
+        labels.update(new ArrayWheelAdapter(spanned()), mPaint, VISIBLE);
+        assertFalse(draw(labels, 3));
+        await(labels, 3);
+    }
+
+    private WheelStyledLabels newLabels() {
+        WheelStyledLabels labels = new WheelStyledLabels(() -> Unit.INSTANCE);
+        labels.update(new ArrayWheelAdapter(spanned()), mPaint, VISIBLE);
+        return labels;
+    }
+
+    private boolean draw(WheelStyledLabels labels, int index) {
+        return labels.draw(mCanvas, index, 100f, 30f, mPaint);
+    }
+
+    /**
+     * 等待后台排版完成并回到主线程
+     */
+    private void await(WheelStyledLabels labels, int index) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + TIMEOUT_MS;
+        while (System.currentTimeMillis() < deadline) {
+            ShadowLooper.idleMainLooper();
+            if (draw(labels, index)) return;
+            Thread.sleep(5);
+        }
+        fail("index " + index + " was not laid out");
+    }
+
+    private static List<CharSequence> spanned() {
+        List<CharSequence> list = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            SpannableString label = new SpannableString("item " + i);
+            label.setSpan(new StyleSpan(Typeface.BOLD), 0, 4, Spanned.SPAN_EXCLUSIVE_EXCLUSIVE);
+            list.add(label);
+        }
+        return list;
+    }
+}
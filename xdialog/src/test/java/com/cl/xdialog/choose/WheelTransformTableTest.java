@@ -0,0 +1,77 @@
+package com.cl.xdialog.choose;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import android.graphics.Matrix;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+/**
+ * 查找表与直接计算的投影一致，半径、中心点或焦距变化后重新计算
+ */
+@RunWith(RobolectricTestRunner.class)
+public class WheelTransformTableTest {
+    private static final int RADIUS = 300;
+    private static final float CENTER_X = 200f;
+    private static final float CENTER_Y = 400f;
+    private static final float FOCAL = WheelProjection.DEFAULT_FOCAL_DISTANCE;
+    private static final int RANGE = 120;
+    private static final float EPSILON = 1e-4f;
+
+    private final WheelTransformTable mTable = new WheelTransformTable();
+
+    @Test
+    public void matchesDirectProjection() {
+        mTable.update(RADIUS, CENTER_X, CENTER_Y, FOCAL);
+        assertEquals((int) (RADIUS * Math.PI / 2), mTable.getMaxRange());
+        assertTrue(mTable.contains(mTable.getMaxRange()));
+        assertFalse(mTable.contains(mTable.getMaxRange() + 1));
+        for (int range = -RANGE; range <= RANGE; range += 40) {
+            assertTransform(range, RADIUS, CENTER_X, CENTER_Y, FOCAL);
+        }
+    }
+
+    @Test
+    public void geometryChangeRebuildsTable() {
+        mTable.update(RADIUS, CENTER_X, CENTER_Y, FOCAL);
+        mTable.update(RADIUS * 2, CENTER_X, CENTER_Y, FOCAL);
+        assertEquals((int) (RADIUS * 2 * Math.PI / 2), mTable.getMaxRange());
+        assertTransform(RANGE, RADIUS * 2, CENTER_X, CENTER_Y, FOCAL);
+        mTable.update(RADIUS * 2, CENTER_X + 50, CENTER_Y, FOCAL);
+        assertTransform(RANGE, RADIUS * 2, CENTER_X + 50, CENTER_Y, FOCAL);
+        mTable.update(RADIUS * 2, CENTER_X + 50, CENTER_Y - 50, FOCAL);
+        assertTransform(RANGE, RADIUS * 2, CENTER_X + 50, CENTER_Y - 50, FOCAL);
+        mTable.update(RADIUS * 2, CENTER_X + 50, CENTER_Y - 50, FOCAL / 2);
+        assertTransform(RANGE, RADIUS * 2, CENTER_X + 50, CENTER_Y - 50, FOCAL / 2);
+    }
+
+    @Test
+    public void emptyRadiusContainsNothing() {
+        mTable.update(RADIUS, CENTER_X, CENTER_Y, FOCAL);
+        mTable.update(0, CENTER_X, CENTER_Y, FOCAL);
+        assertEquals(0, mTable.getMaxRange());
+        assertFalse(mTable.contains(0f));
+    }
+
+    /**
+     * 整数距离上查表的结果等于直接计算的结果
+     */
+    private void assertTransform(int range, int radius, float centerX, float centerY, float focal) {
+        double angle = (double) range / radius;
+        assertEquals(Math.sin(angle) * radius, mTable.getTranslateY(range), EPSILON * radius);
+        float[] expected = new float[9];
+        WheelProjection.computeMatrix(angle, radius, centerX, centerY, focal, expected, 0);
+        Matrix matrix = new Matrix();
+        mTable.getMatrix(range, matrix);
+        float[] actual = new float[9];
+        matrix.getValues(actual);
+        for (int i = 0; i < 9; i++) {
+            float delta = EPSILON * Math.max(1f, Math.abs(expected[i]));
+            assertEquals("range " + range + ", value " + i, expected[i], actual[i], delta);
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.cl.xdialog.choose;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import java.util.Collections;
+
+/**
+ * 平面滚轮绘制itemCount附近的项，3D滚轮只绘制转到和y轴垂直之前的项
+ */
+@RunWith(RobolectricTestRunner.class)
+public class WheelVisibleWindowTest {
+    private static final int ITEM_HEIGHT = TestColumn.ITEM_HEIGHT;
+    private static final int ITEM_COUNT = 9;
+    private static final float[] OFFSETS = {0f, 30f, -30f, ITEM_HEIGHT / 2f};
+
+    @Test
+    public void flatWindowCoversItemCount() {
+        for (float offset : OFFSETS) {
+            TestColumn column = scrolledColumn(true, 50, offset);
+            WheelRenderer renderer = TestColumn.newRenderer(ITEM_COUNT);
+            draw(renderer, column);
+            int count = renderer.getVisibleEnd() - renderer.getVisibleStart();
+            // 停止时上下各一半，滚动中多画一项
+            assertEquals(column.getController().getItemOffset() == 0f ? ITEM_COUNT + 1 : ITEM_COUNT + 2, count);
+        }
+    }
+
+    @Test
+    public void projectedWindowStopsAtQuarterTurn() {
+        // 与Wheel3DView相同，按圆柱面的弧长缩小高度
+        int height = (int) (ITEM_HEIGHT * ITEM_COUNT * 2 / Math.PI);
+        int maxRange = (int) (height / 2 * Math.PI / 2);
+        for (float offset : OFFSETS) {
+            TestColumn column = scrolledColumn(true, 50, offset);
+            WheelRenderer renderer = TestColumn.newRenderer(ITEM_COUNT);
+            renderer.setBounds(0, 0, TestColumn.WIDTH, height);
+            renderer.set3D(true);
+            draw(renderer, column);
+            int start = renderer.getVisibleStart();
+            int end = renderer.getVisibleEnd();
+            for (int i = start; i < end; i++) {
+                assertTrue(Math.abs(range(column, i)) <= maxRange);
+            }
+            // 两端再多一项就已经转过和y轴垂直的位置
+            assertTrue(Math.abs(range(column, start - 1)) > maxRange);
+            assertTrue(Math.abs(range(column, end)) > maxRange);
+            assertTrue(end - start < ITEM_COUNT + 1);
+        }
+    }
+
+    @Test
+    public void nonCyclicWindowStaysInData() {
+        TestColumn column = scrolledColumn(false, 0, 0f);
+        WheelRenderer renderer = TestColumn.newRenderer(ITEM_COUNT);
+        draw(renderer, column);
+        assertEquals(0, renderer.getVisibleStart());
+        assertEquals(ITEM_COUNT / 2 + 1, renderer.getVisibleEnd());
+
+        column = scrolledColumn(false, 99, 0f);
+        draw(renderer, column);
+        assertEquals(100, renderer.getVisibleEnd());
+    }
+
+    private static TestColumn scrolledColumn(boolean cyclic, int index, float offset) {
+        TestColumn column = new TestColumn(100, cyclic);
+        WheelController controller = column.getController();
+        controller.setCurrentIndex(index, false, 0);
+        controller.startDrag();
+        controller.drag(offset);
+        return column;
+    }
+
+    private static void draw(WheelRenderer renderer, TestColumn column) {
+        renderer.drawItems(new CountingCanvas(), Collections.singletonList(column));
+    }
+
+    /**
+     * 第i项与中间的距离
+     */
+    private static float range(TestColumn column, int i) {
+        WheelController controller = column.getController();
+        return (i - controller.getItemIndex()) * ITEM_HEIGHT - controller.getItemOffset();
+    }
+}
@@ -0,0 +1,71 @@
+package com.cl.xdialog.choose;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import android.graphics.Paint;
+import android.text.TextPaint;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.GraphicsMode;
+
+/**
+ * 数据很多时只测量固定数量的抽样项，结果在画笔配置和数据不变时缓存
+ */
+@RunWith(RobolectricTestRunner.class)
+@GraphicsMode(GraphicsMode.Mode.NATIVE)
+public class WheelWidthMeasurerTest {
+    private final WheelWidthMeasurer mMeasurer = new WheelWidthMeasurer();
+    private final TextPaint mPaint = new TextPaint(Paint.ANTI_ALIAS_FLAG);
+    private final CountingWheelAdapter mAdapter = new CountingWheelAdapter(0);
+
+    @Test
+    public void smallDataMeasuresEveryItem() {
+        int count = WheelWidthMeasurer.FULL_MEASURE_LIMIT;
+        float width = measure(count, null);
+        assertEquals(count, mAdapter.labelCount);
+        assertEquals(mPaint.measureText("item " + (count - 1)), width, 0f);
+    }
+
+    @Test
+    public void largeDataSamplesFixedCount() {
+        measure(10_000, null);
+        int samples = mAdapter.labelCount;
+        mMeasurer.invalidate();
+        mAdapter.labelCount = 0;
+        float width = measure(1_000_000, null);
+        assertEquals(samples, mAdapter.labelCount);
+        assertTrue(samples < WheelWidthMeasurer.FULL_MEASURE_LIMIT);
+        // 结尾的项一定被测量
+        assertEquals(mPaint.measureText("item 999999"), width, 0f);
+    }
+
+    @Test
+    public void hintWidensSampledResult() {
+        String hint = "item 9999999999";
+        assertEquals(mPaint.measureText(hint), measure(1_000_000, hint), 0f);
+    }
+
+    @Test
+    public void cachedUntilPaintOrDataChanges() {
+        float width = measure(1_000, null);
+        mAdapter.labelCount = 0;
+        assertEquals(width, measure(1_000, null), 0f);
+        assertEquals(0, mAdapter.labelCount);
+
+        mPaint.setTextSize(mPaint.getTextSize() * 2);
+        assertTrue(measure(1_000, null) > width);
+        assertTrue(mAdapter.labelCount > 0);
+
+        mAdapter.labelCount = 0;
+        mMeasurer.invalidate();
+        measure(1_000, null);
+        assertTrue(mAdapter.labelCount > 0);
+    }
+
+    private float measure(int itemCount, CharSequence hint) {
+        return mMeasurer.measure(mPaint, itemCount, hint, mAdapter::getLabel);
+    }
+}